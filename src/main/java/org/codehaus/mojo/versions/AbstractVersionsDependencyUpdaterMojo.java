@@ -154,6 +154,42 @@ public abstract class AbstractVersionsDependencyUpdaterMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        return true;
+    }
+
+    @Override
+    protected boolean isPrefetchingDependencies()
+    {
+        return isProcessingDependencies();
+    }
+
+    @Override
+    protected boolean isPrefetchingDependencyManagement()
+    {
+        return isProcessingDependencyManagement();
+    }
+
+    @Override
+    protected boolean isPrefetchingParent()
+    {
+        return isProcessingParent();
+    }
+
+    @Override
+    protected boolean isPrefetchingPlugins()
+    {
+        return false;
+    }
+
+    @Override
+    protected boolean isPrefetching( Artifact artifact )
+    {
+        return isIncluded( artifact );
+    }
+
     /**
      * Should the project/dependencies section of the pom be processed.
      *
@@ -25,6 +25,7 @@ import java.io.File;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.manager.WagonManager;
@@ -47,8 +48,12 @@ import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.settings.Settings;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
 import org.codehaus.mojo.versions.api.DefaultVersionsHelper;
+import org.codehaus.mojo.versions.api.PersistentVersionsCache;
+import org.codehaus.mojo.versions.api.RemoteRuleSetCache;
+import org.codehaus.mojo.versions.api.SessionVersionsCache;
 import org.codehaus.mojo.versions.api.VersionsHelper;
 import org.codehaus.mojo.versions.model.RuleSet;
+import org.codehaus.mojo.versions.utils.SessionDataUtils;
 import org.codehaus.plexus.i18n.I18N;
 
 /**
@@ -125,6 +130,34 @@ public abstract class AbstractVersionsReport
     @Parameter( property = "maven.version.rules" )
     private String rulesUri;
 
+    /**
+     * Whether to keep a copy of the ruleSet loaded from a remote {@link #rulesUri} in the local repository,
+     * so that subsequent builds only download it again once the copy is stale and the ruleSet was modified.
+     * Within a build, the ruleSet is only loaded once, whatever the number of modules.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "maven.version.rules.cache", defaultValue = "true" )
+    private boolean useRulesCache;
+
+    /**
+     * The directory the ruleSets loaded from remote URIs are kept in.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "maven.version.rules.cache.directory",
+                defaultValue = "${settings.localRepository}/.cache/versions-maven-plugin/rules" )
+    private File rulesCacheDirectory;
+
+    /**
+     * The time, in seconds, during which a cached ruleSet is used without contacting the server; once stale,
+     * it is only downloaded again if it was modified since.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "maven.version.rules.cache.ttl", defaultValue = "3600" )
+    private long rulesCacheTtl;
+
     /**
      * The versioning rule to use when comparing versions. Valid values are <code>maven</code>, <code>numeric</code>
      * which will handle long version numbers provided all components are numeric, or <code>mercury</code> which will
@@ -188,6 +221,112 @@ public abstract class AbstractVersionsReport
     @Parameter( property = "maven.version.ignore" )
     protected Set<String> ignoredVersions;
 
+    /**
+     * Whether to keep a persistent cache of the versions available for each artifact, so that subsequent
+     * builds do not need to retrieve the repository metadata again until the cached entry expires.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache", defaultValue = "false" )
+    private boolean useVersionsCache;
+
+    /**
+     * The file the versions cache is persisted to.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.file",
+                defaultValue = "${settings.localRepository}/.cache/versions-maven-plugin/versions.cache" )
+    private File versionsCacheFile;
+
+    /**
+     * The time, in seconds, after which a cached entry is considered stale and the repository metadata
+     * is retrieved again.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.ttl", defaultValue = "3600" )
+    private long versionsCacheTtl;
+
+    /**
+     * The time, in seconds, after which a cached record of an artifact without any versions, e.g. one which
+     * was never published, is considered stale and the repositories are consulted again.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.negativeTtl", defaultValue = "600" )
+    private long versionsCacheNegativeTtl;
+
+    /**
+     * The maximum number of artifacts kept in the versions cache; the least recently used entries are
+     * evicted first.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.maxEntries", defaultValue = "10000" )
+    private int versionsCacheMaxEntries;
+
+    /**
+     * Whether to ignore the cached entries and retrieve the repository metadata again, refreshing the cache.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.refresh", defaultValue = "false" )
+    private boolean versionsCacheRefresh;
+
+    /**
+     * The number of threads used to look up versions in parallel, or the maximum number of threads if
+     * {@link #adaptiveLookupThreads} is set. The threads are shared by all the goals of the build, so only
+     * the value of the first goal looking up versions takes effect.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupThreads", defaultValue = "5" )
+    private int lookupThreads;
+
+    /**
+     * Whether to adapt the number of lookup threads to the latency of the repositories: the number of threads
+     * grows while the median latency of the lookups stays flat and backs off when it rises or lookups fail.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupThreads.adaptive", defaultValue = "false" )
+    private boolean adaptiveLookupThreads;
+
+    /**
+     * Whether to look up versions on virtual threads, one per lookup, if the build runs on Java 21 or later.
+     * {@link #lookupThreads} then limits the number of lookups in progress per repository. On older
+     * versions of Java, the thread pool is used.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupThreads.virtual", defaultValue = "false" )
+    private boolean virtualLookupThreads;
+
+    /**
+     * The number of seconds a single version lookup may take before it is abandoned and the versions of the
+     * artifact are reported as unknown, or <code>0</code> for no limit.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupTimeout", defaultValue = "0" )
+    private long lookupTimeout;
+
+    /**
+     * The number of seconds a batch of version lookups, such as those of the dependencies of a project, may take
+     * altogether before the lookups still pending are abandoned and the versions of their artifacts are reported
+     * as unknown, or <code>0</code> for no limit.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupBudget", defaultValue = "0" )
+    private long lookupBudget;
+
+    /**
+     * The versions cache, if {@link #useVersionsCache} is set.
+     */
+    private PersistentVersionsCache versionsCache;
+
     // --------------------- GETTER / SETTER METHODS ---------------------
 
     @Inject
@@ -219,11 +358,18 @@ public abstract class AbstractVersionsReport
                         .withSettings( settings )
                         .withServerId( serverId )
                         .withRulesUri( rulesUri )
+                        .withRuleSetCache( getRuleSetCache() )
                         .withRuleSet( ruleSet )
                         .withIgnoredVersions( ignoredVersions )
                         .withLog( getLog() )
                         .withMavenSession( session )
                         .withMojoExecution( mojoExecution )
+                        .withVersionsCache( getVersionsCache() )
+                        .withLookupThreads( lookupThreads )
+                        .withAdaptiveLookupThreads( adaptiveLookupThreads )
+                        .withVirtualLookupThreads( virtualLookupThreads )
+                        .withLookupTimeout( TimeUnit.SECONDS.toMillis( lookupTimeout ) )
+                        .withLookupBudget( TimeUnit.SECONDS.toMillis( lookupBudget ) )
                         .build();
             }
             catch ( MojoExecutionException e )
@@ -234,6 +380,44 @@ public abstract class AbstractVersionsReport
         return helper;
     }
 
+    private PersistentVersionsCache getVersionsCache()
+    {
+        if ( versionsCache == null && useVersionsCache && versionsCacheFile != null )
+        {
+            // shared by all the modules of the build, so that they do not overwrite each other's entries
+            versionsCache = SessionDataUtils.getOrCreate( session, PersistentVersionsCache.class.getName() + ':'
+                                                              + versionsCacheFile.getAbsolutePath(),
+                                                          PersistentVersionsCache.class,
+                                                          () -> new PersistentVersionsCache( versionsCacheFile,
+                                                              TimeUnit.SECONDS.toMillis( versionsCacheTtl ),
+                                                              TimeUnit.SECONDS.toMillis( versionsCacheNegativeTtl ),
+                                                              versionsCacheMaxEntries, versionsCacheRefresh ) );
+        }
+        return versionsCache;
+    }
+
+    private RemoteRuleSetCache getRuleSetCache()
+    {
+        return useRulesCache && rulesCacheDirectory != null
+            ? RemoteRuleSetCache.getInstance( session, rulesCacheDirectory, TimeUnit.SECONDS.toMillis( rulesCacheTtl ) )
+            : null;
+    }
+
+    /**
+     * Logs the statistics of the versions cache, if one is used, along with those of the version lookups
+     * of the build so far, and writes the cache back once the last project of the build is done.
+     *
+     * @since 2.13.0
+     */
+    protected void saveVersionsCache()
+    {
+        if ( versionsCache != null )
+        {
+            versionsCache.save( getLog(), SessionDataUtils.isLastProject( session, getProject() ) );
+        }
+        SessionVersionsCache.getInstance( session ).logStatistics( getLog() );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -250,6 +434,10 @@ public abstract class AbstractVersionsReport
             {
                 throw new MavenReportException( e.getMessage(), e );
             }
+            finally
+            {
+                saveVersionsCache();
+            }
         }
     }
 
@@ -37,6 +37,7 @@ import org.codehaus.mojo.versions.api.AbstractVersionDetails;
 import org.codehaus.mojo.versions.api.ArtifactAssociation;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
 import org.codehaus.mojo.versions.api.PropertyVersions;
+import org.codehaus.mojo.versions.utils.VersionRangeUtils;
 import org.codehaus.plexus.i18n.I18N;
 import org.codehaus.plexus.util.StringUtils;
 
@@ -490,7 +491,7 @@ public abstract class AbstractVersionsReportRenderer
     {
         sink.tableRow();
         sink.tableCell();
-        if ( versions.getAllUpdates( empty() ).length == 0 )
+        if ( versions.getAllUpdates( empty() ).length == 0 && !versions.isUnknown() )
         {
             renderSuccessIcon();
         }
@@ -588,7 +589,13 @@ public abstract class AbstractVersionsReportRenderer
         sink.tableCell( cellAttributes );
         ArtifactVersion[] artifactVersions = versions.getAllUpdates( empty() );
         Set<String> rangeVersions = getVersionsInRange( property, versions, artifactVersions );
-        if ( versions.getOldestUpdate( of( SUBINCREMENTAL ) ) != null )
+        if ( versions.isUnknown() )
+        {
+            renderWarningIcon();
+            sink.nonBreakingSpace();
+            sink.text( getText( "report.unknown" ) );
+        }
+        else if ( versions.getOldestUpdate( of( SUBINCREMENTAL ) ) != null )
         {
             renderWarningIcon();
             sink.nonBreakingSpace();
@@ -759,7 +766,7 @@ public abstract class AbstractVersionsReportRenderer
         {
             try
             {
-                range = VersionRange.createFromVersionSpec( property.getVersion() );
+                range = VersionRangeUtils.createFromVersionSpec( property.getVersion() );
                 tmp = versions.getAllUpdates( range );
             }
             catch ( InvalidVersionSpecificationException e )
@@ -27,12 +27,19 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.text.CaseUtils;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.manager.WagonManager;
 import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
 import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
@@ -44,6 +51,10 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -55,9 +66,12 @@ import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.settings.Settings;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
 import org.codehaus.mojo.versions.api.DefaultVersionsHelper;
+import org.codehaus.mojo.versions.api.PersistentVersionsCache;
+import org.codehaus.mojo.versions.api.RemoteRuleSetCache;
 import org.codehaus.mojo.versions.api.PomHelper;
 import org.codehaus.mojo.versions.api.PropertyVersions;
 import org.codehaus.mojo.versions.api.Segment;
+import org.codehaus.mojo.versions.api.SessionVersionsCache;
 import org.codehaus.mojo.versions.api.VersionsHelper;
 import org.codehaus.mojo.versions.model.RuleSet;
 import org.codehaus.mojo.versions.ordering.InvalidSegmentException;
@@ -65,6 +79,8 @@ import org.codehaus.mojo.versions.recording.ChangeRecorder;
 import org.codehaus.mojo.versions.recording.ChangeRecorderNull;
 import org.codehaus.mojo.versions.recording.ChangeRecorderXML;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
+import org.codehaus.mojo.versions.utils.DependencyBuilder;
+import org.codehaus.mojo.versions.utils.SessionDataUtils;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.WriterFactory;
@@ -84,6 +100,10 @@ import static org.codehaus.mojo.versions.api.Segment.MINOR;
 public abstract class AbstractVersionsUpdaterMojo
     extends AbstractMojo
 {
+    private static final String PREFETCHED_KEY = AbstractVersionsUpdaterMojo.class.getName() + ":prefetched";
+
+    private static final String PLUGIN_KEY_SUFFIX = ":plugin";
+
 
     // ------------------------------ FIELDS ------------------------------
 
@@ -162,6 +182,34 @@ public abstract class AbstractVersionsUpdaterMojo
     @Parameter( property = "maven.version.rules" )
     private String rulesUri;
 
+    /**
+     * Whether to keep a copy of the ruleSet loaded from a remote {@link #rulesUri} in the local repository,
+     * so that subsequent builds only download it again once the copy is stale and the ruleSet was modified.
+     * Within a build, the ruleSet is only loaded once, whatever the number of modules.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "maven.version.rules.cache", defaultValue = "true" )
+    private boolean useRulesCache;
+
+    /**
+     * The directory the ruleSets loaded from remote URIs are kept in.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "maven.version.rules.cache.directory",
+                defaultValue = "${settings.localRepository}/.cache/versions-maven-plugin/rules" )
+    private File rulesCacheDirectory;
+
+    /**
+     * The time, in seconds, during which a cached ruleSet is used without contacting the server; once stale,
+     * it is only downloaded again if it was modified since.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "maven.version.rules.cache.ttl", defaultValue = "3600" )
+    private long rulesCacheTtl;
+
     /**
      * Controls whether a backup pom should be created.
      *
@@ -243,6 +291,123 @@ public abstract class AbstractVersionsUpdaterMojo
     @Parameter( property = "maven.version.ignore" )
     protected Set<String> ignoredVersions;
 
+    /**
+     * Whether to keep a persistent cache of the versions available for each artifact, so that subsequent
+     * builds do not need to retrieve the repository metadata again until the cached entry expires.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache", defaultValue = "false" )
+    private boolean useVersionsCache;
+
+    /**
+     * The file the versions cache is persisted to.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.file",
+                defaultValue = "${settings.localRepository}/.cache/versions-maven-plugin/versions.cache" )
+    private File versionsCacheFile;
+
+    /**
+     * The time, in seconds, after which a cached entry is considered stale and the repository metadata
+     * is retrieved again.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.ttl", defaultValue = "3600" )
+    private long versionsCacheTtl;
+
+    /**
+     * The time, in seconds, after which a cached record of an artifact without any versions, e.g. one which
+     * was never published, is considered stale and the repositories are consulted again.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.negativeTtl", defaultValue = "600" )
+    private long versionsCacheNegativeTtl;
+
+    /**
+     * The maximum number of artifacts kept in the versions cache; the least recently used entries are
+     * evicted first.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.maxEntries", defaultValue = "10000" )
+    private int versionsCacheMaxEntries;
+
+    /**
+     * Whether to ignore the cached entries and retrieve the repository metadata again, refreshing the cache.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.cache.refresh", defaultValue = "false" )
+    private boolean versionsCacheRefresh;
+
+    /**
+     * The number of threads used to look up versions in parallel, or the maximum number of threads if
+     * {@link #adaptiveLookupThreads} is set. The threads are shared by all the goals of the build, so only
+     * the value of the first goal looking up versions takes effect.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupThreads", defaultValue = "5" )
+    private int lookupThreads;
+
+    /**
+     * Whether to adapt the number of lookup threads to the latency of the repositories: the number of threads
+     * grows while the median latency of the lookups stays flat and backs off when it rises or lookups fail.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupThreads.adaptive", defaultValue = "false" )
+    private boolean adaptiveLookupThreads;
+
+    /**
+     * Whether to look up versions on virtual threads, one per lookup, if the build runs on Java 21 or later.
+     * {@link #lookupThreads} then limits the number of lookups in progress per repository. On older
+     * versions of Java, the thread pool is used.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupThreads.virtual", defaultValue = "false" )
+    private boolean virtualLookupThreads;
+
+    /**
+     * The number of seconds a single version lookup may take before it is abandoned and the versions of the
+     * artifact are reported as unknown, or <code>0</code> for no limit.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupTimeout", defaultValue = "0" )
+    private long lookupTimeout;
+
+    /**
+     * The number of seconds a batch of version lookups, such as those of the dependencies of a project, may take
+     * altogether before the lookups still pending are abandoned and the versions of their artifacts are reported
+     * as unknown, or <code>0</code> for no limit.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.lookupBudget", defaultValue = "0" )
+    private long lookupBudget;
+
+    /**
+     * Whether to look up the versions of the dependencies, plugins and parents of all the projects of the reactor
+     * in parallel before the first project is updated, so that the projects are then updated from the versions
+     * already retrieved instead of looking up one artifact at a time. Each artifact is only prefetched once
+     * per build, by the first goal which looks up its versions.
+     *
+     * @since 2.13.0
+     */
+    @Parameter( property = "versions.prefetch", defaultValue = "false" )
+    private boolean prefetch;
+
+    /**
+     * The versions cache, if {@link #useVersionsCache} is set.
+     */
+    private PersistentVersionsCache versionsCache;
+
     // --------------------- GETTER / SETTER METHODS ---------------------
 
     @Inject
@@ -274,16 +439,61 @@ public abstract class AbstractVersionsUpdaterMojo
                     .withSettings( settings )
                     .withServerId( serverId )
                     .withRulesUri( rulesUri )
+                    .withRuleSetCache( getRuleSetCache() )
                     .withRuleSet( ruleSet )
                     .withIgnoredVersions( ignoredVersions )
                     .withLog( getLog() )
                     .withMavenSession( session )
                     .withMojoExecution( mojoExecution )
+                    .withVersionsCache( getVersionsCache() )
+                    .withLookupThreads( lookupThreads )
+                    .withAdaptiveLookupThreads( adaptiveLookupThreads )
+                    .withVirtualLookupThreads( virtualLookupThreads )
+                    .withLookupTimeout( TimeUnit.SECONDS.toMillis( lookupTimeout ) )
+                    .withLookupBudget( TimeUnit.SECONDS.toMillis( lookupBudget ) )
                     .build();
         }
         return helper;
     }
 
+    private PersistentVersionsCache getVersionsCache()
+    {
+        if ( versionsCache == null && useVersionsCache && versionsCacheFile != null )
+        {
+            // shared by all the modules of the build, so that they do not overwrite each other's entries
+            versionsCache = SessionDataUtils.getOrCreate( session, PersistentVersionsCache.class.getName() + ':'
+                                                              + versionsCacheFile.getAbsolutePath(),
+                                                          PersistentVersionsCache.class,
+                                                          () -> new PersistentVersionsCache( versionsCacheFile,
+                                                              TimeUnit.SECONDS.toMillis( versionsCacheTtl ),
+                                                              TimeUnit.SECONDS.toMillis( versionsCacheNegativeTtl ),
+                                                              versionsCacheMaxEntries, versionsCacheRefresh ) );
+        }
+        return versionsCache;
+    }
+
+    private RemoteRuleSetCache getRuleSetCache()
+    {
+        return useRulesCache && rulesCacheDirectory != null
+            ? RemoteRuleSetCache.getInstance( session, rulesCacheDirectory, TimeUnit.SECONDS.toMillis( rulesCacheTtl ) )
+            : null;
+    }
+
+    /**
+     * Logs the statistics of the versions cache, if one is used, along with those of the version lookups
+     * of the build so far, and writes the cache back once the last project of the build is done.
+     *
+     * @since 2.13.0
+     */
+    protected void saveVersionsCache()
+    {
+        if ( versionsCache != null )
+        {
+            versionsCache.save( getLog(), SessionDataUtils.isLastProject( session, project ) );
+        }
+        SessionVersionsCache.getInstance( session ).logStatistics( getLog() );
+    }
+
     /**
      * Getter for property 'project'.
      *
@@ -323,12 +533,213 @@ public abstract class AbstractVersionsUpdaterMojo
     public void execute()
         throws MojoExecutionException, MojoFailureException
     {
+        if ( prefetch && isPrefetchSupported() )
+        {
+            prefetchReactorVersions();
+        }
         File outFile = project.getFile();
         process( outFile );
     }
 
     // -------------------------- OTHER METHODS --------------------------
 
+    /**
+     * Whether the goal looks up the versions of the artifacts of the project, making it worth to prefetch
+     * the versions of the whole reactor, see {@link #prefetch}.
+     *
+     * @return <code>true</code> if the goal looks up versions, <code>false</code> by default.
+     * @since 2.13.0
+     */
+    protected boolean isPrefetchSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Whether the versions of the dependencies of the projects are worth prefetching.
+     *
+     * @return <code>true</code> by default.
+     * @since 2.13.0
+     */
+    protected boolean isPrefetchingDependencies()
+    {
+        return true;
+    }
+
+    /**
+     * Whether the versions of the dependency management of the projects are worth prefetching.
+     *
+     * @return <code>true</code> by default.
+     * @since 2.13.0
+     */
+    protected boolean isPrefetchingDependencyManagement()
+    {
+        return true;
+    }
+
+    /**
+     * Whether the versions of the parents of the projects are worth prefetching.
+     *
+     * @return <code>true</code> by default.
+     * @since 2.13.0
+     */
+    protected boolean isPrefetchingParent()
+    {
+        return true;
+    }
+
+    /**
+     * Whether the versions of the plugins of the projects, and of their dependencies, are worth prefetching.
+     *
+     * @return <code>true</code> by default.
+     * @since 2.13.0
+     */
+    protected boolean isPrefetchingPlugins()
+    {
+        return true;
+    }
+
+    /**
+     * Whether the versions of the given artifact are worth prefetching.
+     *
+     * @param artifact The artifact.
+     * @return <code>true</code> by default.
+     * @since 2.13.0
+     */
+    protected boolean isPrefetching( Artifact artifact )
+    {
+        return true;
+    }
+
+    /**
+     * Looks up, in parallel, the versions of the dependencies, dependency management, plugins and parents
+     * of all the projects of the reactor which the goal processes, see {@link #isPrefetchingDependencies()},
+     * {@link #isPrefetchingDependencyManagement()}, {@link #isPrefetchingParent()},
+     * {@link #isPrefetchingPlugins()} and {@link #isPrefetching(Artifact)}, leaving out the artifacts
+     * produced by the reactor itself. Artifacts are looked up once per <code>groupId:artifactId</code>
+     * and per build, whatever their versions, so that the later goals and projects only look up the artifacts
+     * which the earlier ones left out.
+     *
+     * @throws MojoExecutionException if the helper could not be created.
+     */
+    void prefetchReactorVersions()
+        throws MojoExecutionException
+    {
+        if ( reactorProjects == null )
+        {
+            return;
+        }
+        @SuppressWarnings( "unchecked" )
+        Set<String> prefetched = SessionDataUtils.getOrCreate( session, PREFETCHED_KEY, Set.class,
+                                                               ConcurrentHashMap::newKeySet );
+
+        Set<String> produced = new HashSet<>();
+        for ( MavenProject reactorProject : reactorProjects )
+        {
+            produced.add( ArtifactUtils.versionlessKey( reactorProject.getGroupId(),
+                                                        reactorProject.getArtifactId() ) );
+        }
+        Map<String, Artifact> artifacts = new TreeMap<>();
+        Map<String, Artifact> plugins = new TreeMap<>();
+        for ( MavenProject reactorProject : reactorProjects )
+        {
+            // the effective model, as the goals see it, so with the active profiles only
+            Model model = reactorProject.getModel();
+            if ( model.getParent() != null && isPrefetchingParent() )
+            {
+                addDependencyArtifact( artifacts, prefetched, DependencyBuilder.newBuilder()
+                    .withGroupId( model.getParent().getGroupId() )
+                    .withArtifactId( model.getParent().getArtifactId() )
+                    .withVersion( model.getParent().getVersion() )
+                    .withType( "pom" )
+                    .build() );
+            }
+            if ( isPrefetchingDependencies() )
+            {
+                for ( Dependency dependency : model.getDependencies() )
+                {
+                    addDependencyArtifact( artifacts, prefetched, dependency );
+                }
+            }
+            // the goals update the dependency management of the pom, not the one imported from boms
+            Model originalModel = reactorProject.getOriginalModel();
+            if ( originalModel != null && originalModel.getDependencyManagement() != null
+                && isPrefetchingDependencyManagement() )
+            {
+                for ( Dependency dependency : originalModel.getDependencyManagement().getDependencies() )
+                {
+                    if ( !dependency.getGroupId().contains( "${" )
+                        && !dependency.getArtifactId().contains( "${" ) )
+                    {
+                        addDependencyArtifact( artifacts, prefetched, dependency );
+                    }
+                }
+            }
+            if ( model.getBuild() != null && isPrefetchingPlugins() )
+            {
+                collectPluginArtifacts( model.getBuild(), prefetched, artifacts, plugins );
+            }
+        }
+        artifacts.keySet().removeAll( produced );
+        plugins.keySet().removeAll( produced );
+        // concurrent projects may both be collecting the same artifacts, only one of them looks them up
+        artifacts.keySet().removeIf( key -> !prefetched.add( key ) );
+        plugins.keySet().removeIf( key -> !prefetched.add( key + PLUGIN_KEY_SUFFIX ) );
+        if ( artifacts.isEmpty() && plugins.isEmpty() )
+        {
+            return;
+        }
+
+        long start = System.nanoTime();
+        getHelper().prefetchArtifactVersions( artifacts.values(), false );
+        getHelper().prefetchArtifactVersions( plugins.values(), true );
+        getLog().debug( "Prefetched the versions of " + ( artifacts.size() + plugins.size() ) + " artifacts in "
+                            + TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ) + " ms" );
+    }
+
+    private void collectPluginArtifacts( BuildBase build, Set<String> prefetched, Map<String, Artifact> artifacts,
+                                         Map<String, Artifact> plugins )
+        throws MojoExecutionException
+    {
+        List<Plugin> buildPlugins = new ArrayList<>( build.getPlugins() );
+        if ( build.getPluginManagement() != null )
+        {
+            buildPlugins.addAll( build.getPluginManagement().getPlugins() );
+        }
+        for ( Plugin plugin : buildPlugins )
+        {
+            String key = ArtifactUtils.versionlessKey( plugin.getGroupId(), plugin.getArtifactId() );
+            if ( !plugins.containsKey( key ) && !prefetched.contains( key + PLUGIN_KEY_SUFFIX ) )
+            {
+                Artifact artifact = getHelper().createPluginArtifact( plugin.getGroupId(), plugin.getArtifactId(),
+                                                                      plugin.getVersion() );
+                if ( isPrefetching( artifact ) )
+                {
+                    plugins.put( key, artifact );
+                }
+            }
+            for ( Dependency dependency : plugin.getDependencies() )
+            {
+                addDependencyArtifact( artifacts, prefetched, dependency );
+            }
+        }
+    }
+
+    private void addDependencyArtifact( Map<String, Artifact> artifacts, Set<String> prefetched,
+                                        Dependency dependency )
+        throws MojoExecutionException
+    {
+        String key = ArtifactUtils.versionlessKey( dependency.getGroupId(), dependency.getArtifactId() );
+        if ( !artifacts.containsKey( key ) && !prefetched.contains( key ) )
+        {
+            Artifact artifact = getHelper().createDependencyArtifact( dependency );
+            if ( isPrefetching( artifact ) )
+            {
+                artifacts.put( key, artifact );
+            }
+        }
+    }
+
     /**
      * Finds the latest version of the specified artifact that matches the version range.
      *
@@ -436,7 +847,10 @@ public abstract class AbstractVersionsUpdaterMojo
         {
             throw new MojoExecutionException( e.getMessage(), e );
         }
-
+        finally
+        {
+            saveVersionsCache();
+        }
     }
 
     /**
@@ -132,6 +132,13 @@ public class CompareDependenciesMojo
         this.mavenProjectBuilder = mavenProjectBuilder;
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        // takes the versions from the remote project rather than from the repositories
+        return false;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws org.apache.maven.plugin.MojoExecutionException Something wrong with the plugin itself
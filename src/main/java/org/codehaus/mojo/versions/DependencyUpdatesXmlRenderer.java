@@ -151,9 +151,14 @@ public class DependencyUpdatesXmlRenderer
         int numMaj = 0;
         int numAny = 0;
         int numCur = 0;
+        int numUnknown = 0;
         for ( ArtifactVersions details : allUpdates )
         {
-            if ( details.getOldestUpdate( of( SUBINCREMENTAL ) ) != null )
+            if ( details.isUnknown() )
+            {
+                numUnknown++;
+            }
+            else if ( details.getOldestUpdate( of( SUBINCREMENTAL ) ) != null )
             {
                 numAny++;
             }
@@ -179,15 +184,16 @@ public class DependencyUpdatesXmlRenderer
             + "\t\t<nextVersionAvailable>%d</nextVersionAvailable>%n"
             + "\t\t<nextIncrementalAvailable>%d</nextIncrementalAvailable>%n"
             + "\t\t<nextMinorAvailable>%d</nextMinorAvailable>%n" + "\t\t<nextMajorAvailable>%d</nextMajorAvailable>%n"
+            + ( numUnknown > 0 ? "\t\t<unknown>%d</unknown>%n" : "" )
             + "\t</summary>%n";
 
-        return String.format( result, numCur, numAny, numInc, numMin, numMaj );
+        return String.format( result, numCur, numAny, numInc, numMin, numMaj, numUnknown );
     }
 
     /**
      * Returns xml report for current dependency state with following info: current version, next available version,
      * next incremental/minor/major if available and status ('incremental available', 'minor available', 'major
-     * available' or 'no new available')
+     * available', 'no new available' or 'unknown' if the lookup of the versions timed out)
      *
      * @param versions version info for dependency
      * @return xml reports about current possible updates.
@@ -199,7 +205,12 @@ public class DependencyUpdatesXmlRenderer
                         ? versions.getCurrentVersion().toString() : versions.getArtifact().getVersionRange().toString(),
                 CURRENT_VERSION ) ).append( NL );
         ArtifactVersion nextVersion = versions.getOldestUpdate( empty() );
-        if ( nextVersion != null )
+        if ( versions.isUnknown() )
+        {
+            sBuilder.append( TAB ).append( TAB ).append( TAB ).append( wrapElement( "unknown",
+                                                                                    STATUS ) ).append( NL );
+        }
+        else if ( nextVersion != null )
         {
             sBuilder.append( TAB ).append( TAB ).append( TAB ).append( wrapElement( nextVersion.toString(),
                                                                                     NEXT_VERSION ) ).append( NL );
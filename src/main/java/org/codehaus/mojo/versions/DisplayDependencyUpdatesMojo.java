@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 
@@ -565,34 +566,36 @@ public class DisplayDependencyUpdatesMojo
             {
                 dependencyManagement = filterDependencyManagementIncludes( dependencyManagement );
 
-                logUpdates( getHelper().lookupDependenciesUpdates( dependencyManagement, false ),
-                            "Dependency Management" );
+                logUpdates( dependencyManagement, "Dependency Management" );
             }
             if ( isProcessingDependencies() )
             {
                 dependencies = filterDependencyIncludes( dependencies );
 
-                logUpdates( getHelper().lookupDependenciesUpdates( dependencies, false ), "Dependencies" );
+                logUpdates( dependencies, "Dependencies" );
             }
             if ( isProcessPluginDependenciesInDependencyManagement() )
             {
                 pluginDependenciesInPluginManagement =
                         filterPluginManagementIncludes( pluginDependenciesInPluginManagement );
 
-                logUpdates( getHelper().lookupDependenciesUpdates( pluginDependenciesInPluginManagement, false ),
-                            "pluginManagement of plugins" );
+                logUpdates( pluginDependenciesInPluginManagement, "pluginManagement of plugins" );
             }
             if ( isProcessingPluginDependencies() )
             {
                 pluginDependencies = filterPluginDependencyIncludes( pluginDependencies );
 
-                logUpdates( getHelper().lookupDependenciesUpdates( pluginDependencies, false ), "Plugin Dependencies" );
+                logUpdates( pluginDependencies, "Plugin Dependencies" );
             }
         }
         catch ( ArtifactMetadataRetrievalException e )
         {
             throw new MojoExecutionException( e.getMessage(), e );
         }
+        finally
+        {
+            saveVersionsCache();
+        }
     }
 
     private void validateInput() throws MojoExecutionException
@@ -699,47 +702,27 @@ public class DisplayDependencyUpdatesMojo
                 : empty();
     }
 
-    private void logUpdates( Map<Dependency, ArtifactVersions> updates, String section )
+    private void logUpdates( Set<Dependency> dependencies, String section )
+        throws MojoExecutionException, ArtifactMetadataRetrievalException
     {
-        List<String> withUpdates = new ArrayList<>();
-        List<String> usingCurrent = new ArrayList<>();
-        for ( ArtifactVersions versions : updates.values() )
+        // the lines of each dependency are formatted as soon as its lookup is complete,
+        // but logged in the order of the dependencies once all the lookups are complete
+        Map<Dependency, List<String>> withUpdatesByDependency = new TreeMap<>( new DependencyComparator() );
+        Map<Dependency, List<String>> usingCurrentByDependency = new TreeMap<>( new DependencyComparator() );
+        Map<Dependency, List<String>> unknownByDependency = new TreeMap<>( new DependencyComparator() );
+        getHelper().lookupDependenciesUpdates( dependencies, false, ( dependency, versions ) ->
         {
-            String left = "  " + ArtifactUtils.versionlessKey( versions.getArtifact() ) + " ";
-            final String current;
-            ArtifactVersion latest;
-            if ( versions.isCurrentVersionDefined() )
-            {
-                current = versions.getCurrentVersion().toString();
-                latest = versions.getNewestUpdate( calculateUpdateScope(), allowSnapshots );
-            }
-            else
-            {
-                ArtifactVersion newestVersion =
-                        versions.getNewestVersion( versions.getArtifact().getVersionRange(), allowSnapshots );
-                current = versions.getArtifact().getVersionRange().toString();
-                latest = newestVersion == null ? null
-                        : versions.getNewestUpdate( newestVersion, calculateUpdateScope(), allowSnapshots );
-                if ( latest != null
-                        && ArtifactVersions.isVersionInRange( latest, versions.getArtifact().getVersionRange() ) )
-                {
-                    latest = null;
-                }
-            }
-            String right = " " + ( latest == null ? current : current + " -> " + latest );
-            List<String> t = latest == null ? usingCurrent : withUpdates;
-            if ( right.length() + left.length() + 3 > INFO_PAD_SIZE + getOutputLineWidthOffset() )
-            {
-                t.add( left + "..." );
-                t.add( StringUtils.leftPad( right, INFO_PAD_SIZE + getOutputLineWidthOffset() ) );
-
-            }
-            else
-            {
-                t.add( StringUtils.rightPad( left, INFO_PAD_SIZE + getOutputLineWidthOffset() - right.length(), "." )
-                        + right );
-            }
-        }
+            List<String> lines = new ArrayList<>();
+            boolean hasUpdate = formatUpdate( versions, lines );
+            ( versions.isUnknown() ? unknownByDependency
+                : hasUpdate ? withUpdatesByDependency : usingCurrentByDependency ).put( dependency, lines );
+        } );
+        List<String> withUpdates = withUpdatesByDependency.values().stream()
+            .flatMap( List::stream ).collect( Collectors.toList() );
+        List<String> usingCurrent = usingCurrentByDependency.values().stream()
+            .flatMap( List::stream ).collect( Collectors.toList() );
+        List<String> unknown = unknownByDependency.values().stream()
+            .flatMap( List::stream ).collect( Collectors.toList() );
 
         if ( isVerbose() )
         {
@@ -780,6 +763,64 @@ public class DisplayDependencyUpdatesMojo
             }
             logLine( false, "" );
         }
+
+        if ( !unknown.isEmpty() )
+        {
+            logLine( false, "The versions of the following dependencies in " + section
+                + " are unknown, their lookup timed out:" );
+            for ( String s : unknown )
+            {
+                logLine( false, s );
+            }
+            logLine( false, "" );
+        }
+    }
+
+    /**
+     * Formats the lines describing the updates of a dependency.
+     *
+     * @param versions the versions of the dependency.
+     * @param lines the list to add the lines to.
+     * @return {@code true} if there is an update, {@code false} if the dependency is using the newest version
+     *         or its versions are unknown.
+     */
+    private boolean formatUpdate( ArtifactVersions versions, List<String> lines )
+    {
+        String left = "  " + ArtifactUtils.versionlessKey( versions.getArtifact() ) + " ";
+        final String current;
+        ArtifactVersion latest;
+        if ( versions.isCurrentVersionDefined() )
+        {
+            current = versions.getCurrentVersion().toString();
+            latest = versions.getNewestUpdate( calculateUpdateScope(), allowSnapshots );
+        }
+        else
+        {
+            ArtifactVersion newestVersion =
+                    versions.getNewestVersion( versions.getArtifact().getVersionRange(), allowSnapshots );
+            current = versions.getArtifact().getVersionRange().toString();
+            latest = newestVersion == null ? null
+                    : versions.getNewestUpdate( newestVersion, calculateUpdateScope(), allowSnapshots );
+            if ( latest != null
+                    && ArtifactVersions.isVersionInRange( latest, versions.getArtifact().getVersionRange() ) )
+            {
+                latest = null;
+            }
+        }
+        String right = " " + ( versions.isUnknown() ? current + " -> unknown"
+            : latest == null ? current : current + " -> " + latest );
+        if ( right.length() + left.length() + 3 > INFO_PAD_SIZE + getOutputLineWidthOffset() )
+        {
+            lines.add( left + "..." );
+            lines.add( StringUtils.leftPad( right, INFO_PAD_SIZE + getOutputLineWidthOffset() ) );
+
+        }
+        else
+        {
+            lines.add( StringUtils.rightPad( left, INFO_PAD_SIZE + getOutputLineWidthOffset() - right.length(), "." )
+                    + right );
+        }
+        return latest != null;
     }
 
     /**
@@ -37,6 +37,7 @@ import org.apache.maven.project.MavenProjectBuilder;
 import org.apache.maven.repository.RepositorySystem;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 import org.codehaus.mojo.versions.utils.DependencyBuilder;
+import org.codehaus.mojo.versions.utils.VersionRangeUtils;
 
 /**
  * Displays any updates of the project's parent project
@@ -84,7 +85,7 @@ public class DisplayParentUpdatesMojo
         VersionRange versionRange;
         try
         {
-            versionRange = VersionRange.createFromVersionSpec( version );
+            versionRange = VersionRangeUtils.createFromVersionSpec( version );
         }
         catch ( InvalidVersionSpecificationException e )
         {
@@ -107,6 +108,10 @@ public class DisplayParentUpdatesMojo
         {
             throw new MojoExecutionException( e.getMessage(), e );
         }
+        finally
+        {
+            saveVersionsCache();
+        }
 
         if ( artifactVersion == null || currentVersion.equals( artifactVersion.toString() ) )
         {
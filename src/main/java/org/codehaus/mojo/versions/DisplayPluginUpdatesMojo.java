@@ -413,183 +413,192 @@ public class DisplayPluginUpdatesMojo
         // if Maven prerequisite upgraded to a version, Map<plugin compact key, latest compatible plugin vesion>
         Map<ArtifactVersion, Map<String, String>> mavenUpgrades = new TreeMap<>( new MavenVersionComparator() );
 
-        for ( Plugin plugin : plugins )
+        try
         {
-            String groupId = plugin.getGroupId();
-            String artifactId = plugin.getArtifactId();
-            String version = plugin.getVersion();
-            String coords = ArtifactUtils.versionlessKey( groupId, artifactId );
-
-            if ( version == null )
+            for ( Plugin plugin : plugins )
             {
-                version = parentPlugins.get( coords );
-            }
+                String groupId = plugin.getGroupId();
+                String artifactId = plugin.getArtifactId();
+                String version = plugin.getVersion();
+                String coords = ArtifactUtils.versionlessKey( groupId, artifactId );
 
-            boolean versionSpecifiedInCurrentPom = pluginsWithVersionsSpecified.contains( coords );
-            if ( !versionSpecifiedInCurrentPom && parentPlugins.containsKey( coords ) )
-            {
-                getLog().debug( "Skip " + coords + ", version " + version + " is defined in parent POM." );
-                continue;
-            }
+                if ( version == null )
+                {
+                    version = parentPlugins.get( coords );
+                }
+
+                boolean versionSpecifiedInCurrentPom = pluginsWithVersionsSpecified.contains( coords );
+                if ( !versionSpecifiedInCurrentPom && parentPlugins.containsKey( coords ) )
+                {
+                    getLog().debug( "Skip " + coords + ", version " + version + " is defined in parent POM." );
+                    continue;
+                }
 
-            getLog().debug( "Checking " + coords + " for updates newer than " + version );
-            String effectiveVersion = version;
+                getLog().debug( "Checking " + coords + " for updates newer than " + version );
+                String effectiveVersion = version;
 
-            Artifact artifactRange = getHelper().createPluginArtifact( plugin.getGroupId(), plugin.getArtifactId(),
-                                                                       version );
+                Artifact artifactRange = getHelper().createPluginArtifact( plugin.getGroupId(), plugin.getArtifactId(),
+                                                                           version );
 
-            ArtifactVersion artifactVersion = null;
-            try
-            {
-                // now we want to find the newest versions and check their Maven version prerequisite
-                ArtifactVersions artifactVersions = getHelper().lookupArtifactVersions( artifactRange, true );
-                ArtifactVersion[] newerVersions = artifactVersions.getVersions( this.allowSnapshots );
-                ArtifactVersion minRequires = null;
-                for ( int j = newerVersions.length - 1; j >= 0; j-- )
+                ArtifactVersion artifactVersion = null;
+                try
                 {
-                    Artifact probe = getHelper().createDependencyArtifact( DependencyBuilder.newBuilder()
-                        .withGroupId( groupId )
-                        .withArtifactId( artifactId )
-                        .withVersion( newerVersions[j].toString() )
-                        .withType( "pom" )
-                        .withScope( Artifact.SCOPE_RUNTIME )
-                        .build() );
-                    try
+                    // now we want to find the newest versions and check their Maven version prerequisite
+                    ArtifactVersions artifactVersions = getHelper().lookupArtifactVersions( artifactRange, true );
+                    ArtifactVersion[] newerVersions = artifactVersions.getVersions( this.allowSnapshots );
+                    ArtifactVersion minRequires = null;
+                    for ( int j = newerVersions.length - 1; j >= 0; j-- )
                     {
-                        getHelper().resolveArtifact( probe, true );
-                        MavenProject pluginMavenProject =
-                            projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
-                        ArtifactVersion pluginRequires = getPrerequisitesMavenVersion( pluginMavenProject );
-                        if ( artifactVersion == null && compare( specMavenVersion, pluginRequires ) >= 0 )
-                        {
-                            // ok, newer version compatible with current specMavenVersion
-                            artifactVersion = newerVersions[j];
-                        }
-                        if ( effectiveVersion == null && compare( curMavenVersion, pluginRequires ) >= 0 )
-                        {
-                            // version was unspecified, current version of maven thinks it should use this
-                            effectiveVersion = newerVersions[j].toString();
-                        }
-                        if ( artifactVersion != null && effectiveVersion != null )
-                        {
-                            // no need to look at any older versions: latest compatible found
-                            break;
-                        }
-                        // newer version not compatible with current specMavenVersion: track opportunity if Maven spec
-                        // upgrade
-                        if ( minRequires == null || compare( minRequires, pluginRequires ) > 0 )
+                        Artifact probe = getHelper().createDependencyArtifact( DependencyBuilder.newBuilder()
+                            .withGroupId( groupId )
+                            .withArtifactId( artifactId )
+                            .withVersion( newerVersions[j].toString() )
+                            .withType( "pom" )
+                            .withScope( Artifact.SCOPE_RUNTIME )
+                            .build() );
+                        try
                         {
-                            Map<String, String> upgradePlugins =
-                                mavenUpgrades.computeIfAbsent( pluginRequires, k -> new LinkedHashMap<>() );
-
-                            String upgradePluginKey = compactKey( groupId, artifactId );
-                            if ( !upgradePlugins.containsKey( upgradePluginKey ) )
+                            getHelper().resolveArtifact( probe, true );
+                            MavenProject pluginMavenProject =
+                                projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
+                            ArtifactVersion pluginRequires = getPrerequisitesMavenVersion( pluginMavenProject );
+                            if ( artifactVersion == null && compare( specMavenVersion, pluginRequires ) >= 0 )
                             {
-                                String newer = newerVersions[j].toString();
-                                if ( newer.equals( effectiveVersion ) )
-                                {
-                                    // plugin version configured that require a Maven version higher than spec
-                                    upgradePlugins.put( upgradePluginKey,
-                                                        pad( upgradePluginKey,
-                                                             INFO_PAD_SIZE + getOutputLineWidthOffset(), newer ) );
-                                }
-                                else
+                                // ok, newer version compatible with current specMavenVersion
+                                artifactVersion = newerVersions[j];
+                            }
+                            if ( effectiveVersion == null && compare( curMavenVersion, pluginRequires ) >= 0 )
+                            {
+                                // version was unspecified, current version of maven thinks it should use this
+                                effectiveVersion = newerVersions[j].toString();
+                            }
+                            if ( artifactVersion != null && effectiveVersion != null )
+                            {
+                                // no need to look at any older versions: latest compatible found
+                                break;
+                            }
+                            // newer version not compatible with current specMavenVersion: track opportunity if Maven
+                            // spec upgrade
+                            if ( minRequires == null || compare( minRequires, pluginRequires ) > 0 )
+                            {
+                                Map<String, String> upgradePlugins =
+                                    mavenUpgrades.computeIfAbsent( pluginRequires, k -> new LinkedHashMap<>() );
+
+                                String upgradePluginKey = compactKey( groupId, artifactId );
+                                if ( !upgradePlugins.containsKey( upgradePluginKey ) )
                                 {
-                                    // plugin that can be upgraded
-                                    upgradePlugins.put( upgradePluginKey, pad( upgradePluginKey, INFO_PAD_SIZE
-                                                                                   + getOutputLineWidthOffset(),
-                                                                               effectiveVersion, " -> ", newer ) );
+                                    String newer = newerVersions[j].toString();
+                                    if ( newer.equals( effectiveVersion ) )
+                                    {
+                                        // plugin version configured that require a Maven version higher than spec
+                                        upgradePlugins.put( upgradePluginKey,
+                                                            pad( upgradePluginKey,
+                                                                 INFO_PAD_SIZE + getOutputLineWidthOffset(), newer ) );
+                                    }
+                                    else
+                                    {
+                                        // plugin that can be upgraded
+                                        upgradePlugins.put( upgradePluginKey, pad( upgradePluginKey, INFO_PAD_SIZE
+                                                                                       + getOutputLineWidthOffset(),
+                                                                                   effectiveVersion, " -> ", newer ) );
+                                    }
                                 }
+                                minRequires = pluginRequires;
                             }
-                            minRequires = pluginRequires;
                         }
-                    }
-                    catch ( ArtifactResolutionException | ArtifactNotFoundException | ProjectBuildingException e )
-                    {
-                        // ignore bad version
-                    }
-                }
-                if ( effectiveVersion != null )
-                {
-                    Artifact probe = getHelper().createDependencyArtifact( DependencyBuilder.newBuilder()
-                            .withGroupId( groupId )
-                            .withArtifactId( artifactId )
-                            .withVersion( effectiveVersion )
-                            .withType( "pom" )
-                            .withScope( Artifact.SCOPE_RUNTIME )
-                            .build() );
-                    try
-                    {
-                        getHelper().resolveArtifact( probe, true );
-                        MavenProject mavenProject =
-                            projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
-                        ArtifactVersion requires = getPrerequisitesMavenVersion( mavenProject );
-                        if ( minMavenVersion == null || compare( minMavenVersion, requires ) < 0 )
+                        catch ( ArtifactResolutionException | ArtifactNotFoundException | ProjectBuildingException e )
                         {
-                            minMavenVersion = requires;
+                            // ignore bad version
                         }
                     }
-                    catch ( ArtifactResolutionException | ArtifactNotFoundException | ProjectBuildingException e )
+                    if ( effectiveVersion != null )
                     {
-                        // ignore bad version
+                        Artifact probe = getHelper().createDependencyArtifact( DependencyBuilder.newBuilder()
+                                .withGroupId( groupId )
+                                .withArtifactId( artifactId )
+                                .withVersion( effectiveVersion )
+                                .withType( "pom" )
+                                .withScope( Artifact.SCOPE_RUNTIME )
+                                .build() );
+                        try
+                        {
+                            getHelper().resolveArtifact( probe, true );
+                            MavenProject mavenProject =
+                                projectBuilder.buildFromRepository( probe, remotePluginRepositories, localRepository );
+                            ArtifactVersion requires = getPrerequisitesMavenVersion( mavenProject );
+                            if ( minMavenVersion == null || compare( minMavenVersion, requires ) < 0 )
+                            {
+                                minMavenVersion = requires;
+                            }
+                        }
+                        catch ( ArtifactResolutionException | ArtifactNotFoundException | ProjectBuildingException e )
+                        {
+                            // ignore bad version
+                        }
                     }
                 }
-            }
-            catch ( ArtifactMetadataRetrievalException e )
-            {
-                throw new MojoExecutionException( e.getMessage(), e );
-            }
+                catch ( ArtifactMetadataRetrievalException e )
+                {
+                    throw new MojoExecutionException( e.getMessage(), e );
+                }
 
-            String newVersion;
+                String newVersion;
 
-            if ( version == null && versionSpecifiedInCurrentPom )
-            {
-                // Hack ALERT!
-                //
-                // All this should be re-written in a less "pom is xml" way... but it'll
-                // work for now :-(
-                //
-                // we have removed the version information, as it was the same as from
-                // the super-pom... but it actually was specified.
-                version = artifactVersion != null ? artifactVersion.toString() : null;
-            }
+                if ( version == null && versionSpecifiedInCurrentPom )
+                {
+                    // Hack ALERT!
+                    //
+                    // All this should be re-written in a less "pom is xml" way... but it'll
+                    // work for now :-(
+                    //
+                    // we have removed the version information, as it was the same as from
+                    // the super-pom... but it actually was specified.
+                    version = artifactVersion != null ? artifactVersion.toString() : null;
+                }
 
-            getLog().debug( "[" + coords + "].version=" + version );
-            getLog().debug( "[" + coords + "].artifactVersion=" + artifactVersion );
-            getLog().debug( "[" + coords + "].effectiveVersion=" + effectiveVersion );
-            getLog().debug( "[" + coords + "].specified=" + versionSpecifiedInCurrentPom );
-            if ( version == null || !versionSpecifiedInCurrentPom )
-            {
-                version = superPomPluginManagement.get( coords );
-                getLog().debug( "[" + coords + "].superPom.version=" + version );
+                getLog().debug( "[" + coords + "].version=" + version );
+                getLog().debug( "[" + coords + "].artifactVersion=" + artifactVersion );
+                getLog().debug( "[" + coords + "].effectiveVersion=" + effectiveVersion );
+                getLog().debug( "[" + coords + "].specified=" + versionSpecifiedInCurrentPom );
+                if ( version == null || !versionSpecifiedInCurrentPom )
+                {
+                    version = superPomPluginManagement.get( coords );
+                    getLog().debug( "[" + coords + "].superPom.version=" + version );
 
-                newVersion = artifactVersion != null ? artifactVersion.toString()
-                    : ( version != null ? version
-                    : ( effectiveVersion != null ? effectiveVersion : "(unknown)" ) );
-                if ( version != null )
+                    newVersion = artifactVersion != null ? artifactVersion.toString()
+                        : ( version != null ? version
+                        : ( effectiveVersion != null ? effectiveVersion : "(unknown)" ) );
+                    if ( version != null )
+                    {
+                        superPomDrivingMinVersion = true;
+                    }
+
+                    pluginLockdowns.add( pad( compactKey( groupId, artifactId ),
+                                              WARN_PAD_SIZE + getOutputLineWidthOffset(),
+                                              superPomDrivingMinVersion ? FROM_SUPER_POM : "", newVersion ) );
+                }
+                else if ( artifactVersion != null )
                 {
-                    superPomDrivingMinVersion = true;
+                    newVersion = artifactVersion.toString();
+                }
+                else
+                {
+                    newVersion = null;
+                }
+                if ( version != null && artifactVersion != null && newVersion != null && effectiveVersion != null
+                    && new DefaultArtifactVersion( effectiveVersion )
+                        .compareTo( new DefaultArtifactVersion( newVersion ) ) < 0 )
+                {
+                    pluginUpdates.add( pad( compactKey( groupId, artifactId ),
+                                            INFO_PAD_SIZE + getOutputLineWidthOffset(),
+                                            effectiveVersion, " -> ", newVersion ) );
                 }
-
-                pluginLockdowns.add( pad( compactKey( groupId, artifactId ), WARN_PAD_SIZE + getOutputLineWidthOffset(),
-                                          superPomDrivingMinVersion ? FROM_SUPER_POM : "", newVersion ) );
-            }
-            else if ( artifactVersion != null )
-            {
-                newVersion = artifactVersion.toString();
-            }
-            else
-            {
-                newVersion = null;
-            }
-            if ( version != null && artifactVersion != null && newVersion != null && effectiveVersion != null
-                && new DefaultArtifactVersion( effectiveVersion ).compareTo( new DefaultArtifactVersion( newVersion ) )
-                < 0 )
-            {
-                pluginUpdates.add( pad( compactKey( groupId, artifactId ), INFO_PAD_SIZE + getOutputLineWidthOffset(),
-                                        effectiveVersion, " -> ", newVersion ) );
             }
         }
+        finally
+        {
+            saveVersionsCache();
+        }
 
         // info on each plugin gathered: now it's time to display the result!
         //
@@ -142,68 +142,65 @@ public class DisplayPropertyUpdatesMojo
         logInit();
         List<String> current = new ArrayList<>();
         List<String> updates = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
 
-        Map<Property, PropertyVersions> propertyVersions =
-            this.getHelper().getVersionPropertiesMap( getProject(), properties, includeProperties, excludeProperties,
-                                                      autoLinkItems );
-        for ( Map.Entry<Property, PropertyVersions> entry : propertyVersions.entrySet() )
+        try
         {
-            Property property = entry.getKey();
-            PropertyVersions version = entry.getValue();
-
-            final String currentVersion = getProject().getProperties().getProperty( property.getName() );
-            if ( currentVersion == null )
+            Map<Property, PropertyVersions> propertyVersions =
+                this.getHelper().getVersionPropertiesMap( getProject(), properties, includeProperties,
+                                                          excludeProperties, autoLinkItems );
+            for ( Map.Entry<Property, PropertyVersions> entry : propertyVersions.entrySet() )
             {
-                continue;
-            }
+                Property property = entry.getKey();
+                PropertyVersions version = entry.getValue();
 
-            Optional<Segment> unchangedSegment =
-                    determineUnchangedSegment( allowMajorUpdates, allowMinorUpdates, allowIncrementalUpdates );
-            try
-            {
-                ArtifactVersion winner = version.getNewestVersion( currentVersion, property, this.allowSnapshots,
-                        this.reactorProjects, this.getHelper(), false, unchangedSegment );
-                if ( winner != null && !currentVersion.equals( winner.toString() ) )
+                final String currentVersion = getProject().getProperties().getProperty( property.getName() );
+                if ( currentVersion == null )
                 {
-                    StringBuilder buf = new StringBuilder();
-                    buf.append( "${" );
-                    buf.append( property.getName() );
-                    buf.append( "} " );
-                    final String newVersion = winner.toString();
-                    int padding =
-                            INFO_PAD_SIZE - currentVersion.length() - newVersion.length() - 4
-                                    + getOutputLineWidthOffset();
-                    while ( buf.length() < padding )
-                    {
-                        buf.append( '.' );
-                    }
-                    buf.append( ' ' );
-                    buf.append( currentVersion );
-                    buf.append( " -> " );
-                    buf.append( newVersion );
-                    updates.add( buf.toString() );
+                    continue;
                 }
-                else
+                if ( version.isUnknown() )
                 {
-                    StringBuilder buf = new StringBuilder();
-                    buf.append( "${" );
-                    buf.append( property.getName() );
-                    buf.append( "} " );
-                    int padding = INFO_PAD_SIZE - currentVersion.length() + getOutputLineWidthOffset();
-                    while ( buf.length() < padding )
+                    unknown.add( formatUpdate( property, currentVersion, "unknown" ) );
+                    continue;
+                }
+
+                Optional<Segment> unchangedSegment =
+                        determineUnchangedSegment( allowMajorUpdates, allowMinorUpdates, allowIncrementalUpdates );
+                try
+                {
+                    ArtifactVersion winner = version.getNewestVersion( currentVersion, property, this.allowSnapshots,
+                            this.reactorProjects, this.getHelper(), false, unchangedSegment );
+                    if ( winner != null && !currentVersion.equals( winner.toString() ) )
+                    {
+                        updates.add( formatUpdate( property, currentVersion, winner.toString() ) );
+                    }
+                    else
                     {
-                        buf.append( '.' );
+                        StringBuilder buf = new StringBuilder();
+                        buf.append( "${" );
+                        buf.append( property.getName() );
+                        buf.append( "} " );
+                        int padding = INFO_PAD_SIZE - currentVersion.length() + getOutputLineWidthOffset();
+                        while ( buf.length() < padding )
+                        {
+                            buf.append( '.' );
+                        }
+                        buf.append( ' ' );
+                        buf.append( currentVersion );
+                        current.add( buf.toString() );
                     }
-                    buf.append( ' ' );
-                    buf.append( currentVersion );
-                    current.add( buf.toString() );
+                }
+                catch ( InvalidSegmentException | InvalidVersionSpecificationException e )
+                {
+                    getLog().warn( String.format( "Skipping the processing of %s:%s due to: %s", property.getName(),
+                            property.getVersion(), e.getMessage() ) );
                 }
             }
-            catch ( InvalidSegmentException | InvalidVersionSpecificationException e )
-            {
-                getLog().warn( String.format( "Skipping the processing of %s:%s due to: %s", property.getName(),
-                        property.getVersion(), e.getMessage() ) );
-            }
+        }
+        finally
+        {
+            saveVersionsCache();
         }
 
         logLine( false, "" );
@@ -215,11 +212,11 @@ public class DisplayPropertyUpdatesMojo
                 logLine( false, "  " + s );
             }
         }
-        if ( updates.isEmpty() && current.isEmpty() )
+        if ( updates.isEmpty() && current.isEmpty() && unknown.isEmpty() )
         {
             logLine( false, "This project does not have any properties associated with versions." );
         }
-        else if ( updates.isEmpty() )
+        else if ( updates.isEmpty() && unknown.isEmpty() )
         {
             logLine( false, "All version properties are referencing the newest version available." );
         }
@@ -232,9 +229,37 @@ public class DisplayPropertyUpdatesMojo
                 logLine( false, "  " + update );
             }
         }
+        if ( !unknown.isEmpty() )
+        {
+            logLine( false, "The versions of the following version properties are unknown, their lookup timed out:" );
+            for ( String s : new TreeSet<>( unknown ) )
+            {
+                logLine( false, "  " + s );
+            }
+        }
         logLine( false, "" );
     }
 
+    private String formatUpdate( Property property, String currentVersion, String newVersion )
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append( "${" );
+        buf.append( property.getName() );
+        buf.append( "} " );
+        int padding =
+                INFO_PAD_SIZE - currentVersion.length() - newVersion.length() - 4
+                        + getOutputLineWidthOffset();
+        while ( buf.length() < padding )
+        {
+            buf.append( '.' );
+        }
+        buf.append( ' ' );
+        buf.append( currentVersion );
+        buf.append( " -> " );
+        buf.append( newVersion );
+        return buf.toString();
+    }
+
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException, ArtifactMetadataRetrievalException
     {
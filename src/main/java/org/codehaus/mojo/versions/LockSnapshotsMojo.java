@@ -73,6 +73,12 @@ public class LockSnapshotsMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        return false;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws MojoExecutionException when things go wrong
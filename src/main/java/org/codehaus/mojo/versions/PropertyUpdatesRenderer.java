@@ -111,9 +111,14 @@ public class PropertyUpdatesRenderer
         int numMaj = 0;
         int numAny = 0;
         int numCur = 0;
+        int numUnknown = 0;
         for ( PropertyVersions details : allUpdates.values() )
         {
-            if ( details.getOldestUpdate( of( SUBINCREMENTAL ) ) != null )
+            if ( details.isUnknown() )
+            {
+                numUnknown++;
+            }
+            else if ( details.getOldestUpdate( of( SUBINCREMENTAL ) ) != null )
             {
                 numAny++;
             }
@@ -190,6 +195,20 @@ public class PropertyUpdatesRenderer
         sink.text( Integer.toString( numMaj ) );
         sink.tableCell_();
         sink.tableRow_();
+        if ( numUnknown > 0 )
+        {
+            sink.tableRow();
+            sink.tableCell();
+            renderWarningIcon();
+            sink.tableCell_();
+            sink.tableCell();
+            sink.text( getText( "report.overview.numUnknown" ) );
+            sink.tableCell_();
+            sink.tableCell();
+            sink.text( Integer.toString( numUnknown ) );
+            sink.tableCell_();
+            sink.tableRow_();
+        }
         sink.table_();
     }
 
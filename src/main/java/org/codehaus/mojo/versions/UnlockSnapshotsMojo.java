@@ -72,6 +72,12 @@ public class UnlockSnapshotsMojo extends AbstractVersionsDependencyUpdaterMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        return false;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws MojoExecutionException when things go wrong
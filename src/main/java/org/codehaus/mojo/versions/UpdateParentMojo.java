@@ -40,6 +40,7 @@ import org.apache.maven.repository.RepositorySystem;
 import org.codehaus.mojo.versions.api.PomHelper;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 import org.codehaus.mojo.versions.utils.DependencyBuilder;
+import org.codehaus.mojo.versions.utils.VersionRangeUtils;
 
 import static org.apache.maven.shared.utils.StringUtils.isBlank;
 
@@ -107,6 +108,30 @@ public class UpdateParentMojo extends AbstractVersionsUpdaterMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        return true;
+    }
+
+    @Override
+    protected boolean isPrefetchingDependencies()
+    {
+        return false;
+    }
+
+    @Override
+    protected boolean isPrefetchingDependencyManagement()
+    {
+        return false;
+    }
+
+    @Override
+    protected boolean isPrefetchingPlugins()
+    {
+        return false;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws MojoExecutionException when things go wrong
@@ -179,11 +204,11 @@ public class UpdateParentMojo extends AbstractVersionsUpdaterMojo
                 .withType( "pom" )
                 .build() );
 
-        VersionRange targetVersionRange = VersionRange.createFromVersionSpec( initialVersion );
+        VersionRange targetVersionRange = VersionRangeUtils.createFromVersionSpec( initialVersion );
         if ( targetVersionRange.getRecommendedVersion() != null )
         {
-            targetVersionRange = targetVersionRange.restrict(
-                    VersionRange.createFromVersionSpec( "[" + targetVersionRange.getRecommendedVersion() + ",)" ) );
+            targetVersionRange = targetVersionRange.restrict( VersionRangeUtils.createFromVersionSpec(
+                    "[" + targetVersionRange.getRecommendedVersion() + ",)" ) );
         }
 
         ArtifactVersion artifactVersion = findLatestVersion( artifact, targetVersionRange, null,
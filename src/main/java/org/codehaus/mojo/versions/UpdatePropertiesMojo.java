@@ -138,6 +138,13 @@ public class UpdatePropertiesMojo extends AbstractVersionsDependencyUpdaterMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchingPlugins()
+    {
+        // properties may as well hold the versions of plugins
+        return true;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws MojoExecutionException when things go wrong
@@ -138,6 +138,12 @@ public class UpdatePropertyMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        return true;
+    }
+
     /**
      * @param pom the pom to update.
      * @throws MojoExecutionException when things go wrong
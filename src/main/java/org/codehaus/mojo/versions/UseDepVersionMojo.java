@@ -77,6 +77,13 @@ public class UseDepVersionMojo extends AbstractVersionsDependencyUpdaterMojo
         super( repositorySystem, projectBuilder, artifactMetadataSource, wagonManager, artifactResolver );
     }
 
+    @Override
+    protected boolean isPrefetchSupported()
+    {
+        // only looks up the versions of the given artifacts
+        return false;
+    }
+
     @Override
     protected void update( ModifiedPomXMLEventReader pom )
         throws MojoExecutionException, MojoFailureException, XMLStreamException, ArtifactMetadataRetrievalException
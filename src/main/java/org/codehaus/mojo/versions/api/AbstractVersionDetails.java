@@ -20,13 +20,8 @@ package org.codehaus.mojo.versions.api;
  */
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
 
-import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.Restriction;
@@ -69,6 +64,14 @@ public abstract class AbstractVersionDetails
      */
     private final Object currentVersionLock = new Object();
 
+    /**
+     * The updates of the current version, without and with snapshots, computed on demand. Guarded by
+     * {@link #currentVersionLock}.
+     *
+     * @since 2.13.0
+     */
+    private final UpdateSummary[] updateSummaries = new UpdateSummary[2];
+
     protected AbstractVersionDetails()
     {
     }
@@ -91,6 +94,7 @@ public abstract class AbstractVersionDetails
         synchronized ( currentVersionLock )
         {
             this.currentVersion = currentVersion;
+            Arrays.fill( updateSummaries, null );
         }
     }
 
@@ -163,33 +167,20 @@ public abstract class AbstractVersionDetails
         return getNewestVersion( versionRange, restriction, includeSnapshots, false );
     }
 
-    private static <T> Iterable<T> reverse( T[] array )
-    {
-        return Arrays.stream( array ).sorted( Collections.reverseOrder() ).collect( Collectors.toList() );
-    }
-
     public final ArtifactVersion getNewestVersion( VersionRange versionRange, Restriction restriction,
                                                    boolean includeSnapshots, boolean allowDowngrade )
     {
-        final VersionComparator versionComparator = getVersionComparator();
-        // reverse( getVersions( ... ) ) will contain versions sorted from latest to oldest,
-        // so we only need to find the first candidate fulfilling the criteria
-        for ( ArtifactVersion candidate : reverse( getVersions( includeSnapshots ) ) )
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        // the versions are sorted from oldest to latest, so we only need to find the last candidate
+        // fulfilling the criteria
+        final int from = lowerIndex( versions, restriction );
+        for ( int i = upperIndex( versions, restriction ) - 1; i >= from; i-- )
         {
-            if ( !allowDowngrade && versionRange != null
-                    && !ArtifactVersions.isVersionInRange( candidate, versionRange ) )
-            {
-                continue;
-            }
-            if ( restriction != null && !isVersionInRestriction( restriction, candidate ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
+            if ( allowDowngrade || versionRange == null || ArtifactVersions.isVersionInRange( versions[i],
+                                                                                            versionRange ) )
             {
-                continue;
+                return versions[i];
             }
-            return candidate;
         }
         return null;
     }
@@ -206,7 +197,7 @@ public abstract class AbstractVersionDetails
 
     public final boolean containsVersion( String version )
     {
-        for ( ArtifactVersion candidate : getVersions( true ) )
+        for ( ArtifactVersion candidate : getSortedVersions( true ) )
         {
             if ( version.equals( candidate.toString() ) )
             {
@@ -284,32 +275,15 @@ public abstract class AbstractVersionDetails
     public final ArtifactVersion getOldestVersion( VersionRange versionRange, Restriction restriction,
                                                    boolean includeSnapshots )
     {
-        ArtifactVersion oldest = null;
-        final VersionComparator versionComparator = getVersionComparator();
-        for ( ArtifactVersion candidate : getVersions( includeSnapshots ) )
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        for ( int i = lowerIndex( versions, restriction ), to = upperIndex( versions, restriction ); i < to; i++ )
         {
-            if ( versionRange != null && !ArtifactVersions.isVersionInRange( candidate, versionRange ) )
-            {
-                continue;
-            }
-            if ( restriction != null && !isVersionInRestriction( restriction, candidate ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
+            if ( versionRange == null || ArtifactVersions.isVersionInRange( versions[i], versionRange ) )
             {
-                continue;
-            }
-            if ( oldest == null )
-            {
-                oldest = candidate;
-            }
-            else if ( versionComparator.compare( oldest, candidate ) > 0 )
-            {
-                oldest = candidate;
+                return versions[i];
             }
         }
-        return oldest;
+        return null;
     }
 
     public final ArtifactVersion[] getVersions( Restriction restriction, boolean includeSnapshots )
@@ -320,25 +294,16 @@ public abstract class AbstractVersionDetails
     public final ArtifactVersion[] getVersions( VersionRange versionRange, Restriction restriction,
                                                 boolean includeSnapshots )
     {
-        final VersionComparator versionComparator = getVersionComparator();
-        Set<ArtifactVersion> result = new TreeSet<>( versionComparator );
-        for ( ArtifactVersion candidate : getVersions( includeSnapshots ) )
+        final ArtifactVersion[] versions = getSortedVersions( includeSnapshots );
+        final int from = lowerIndex( versions, restriction );
+        final int to = Math.max( from, upperIndex( versions, restriction ) );
+        if ( versionRange == null )
         {
-            if ( versionRange != null && !ArtifactVersions.isVersionInRange( candidate, versionRange ) )
-            {
-                continue;
-            }
-            if ( restriction != null && !isVersionInRestriction( restriction, candidate ) )
-            {
-                continue;
-            }
-            if ( !includeSnapshots && ArtifactUtils.isSnapshot( candidate.toString() ) )
-            {
-                continue;
-            }
-            result.add( candidate );
+            return Arrays.copyOfRange( versions, from, to );
         }
-        return result.toArray( new ArtifactVersion[0] );
+        return Arrays.stream( versions, from, to )
+            .filter( candidate -> ArtifactVersions.isVersionInRange( candidate, versionRange ) )
+            .toArray( ArtifactVersion[]::new );
     }
 
     public final ArtifactVersion getOldestUpdate( ArtifactVersion currentVersion, Optional<Segment> updateScope,
@@ -397,29 +362,59 @@ public abstract class AbstractVersionDetails
 
     public final ArtifactVersion getOldestUpdate( Optional<Segment> updateScope, boolean includeSnapshots )
     {
-        if ( isCurrentVersionDefined() )
-        {
-            return getOldestUpdate( getCurrentVersion(), updateScope, includeSnapshots );
-        }
-        return null;
+        UpdateSummary updateSummary = getUpdateSummary( includeSnapshots );
+        return updateSummary != null ? updateSummary.getOldestUpdate( updateScope ) : null;
     }
 
     public final ArtifactVersion getNewestUpdate( Optional<Segment> updateScope, boolean includeSnapshots )
     {
-        if ( isCurrentVersionDefined() )
-        {
-            return getNewestUpdate( getCurrentVersion(), updateScope, includeSnapshots );
-        }
-        return null;
+        UpdateSummary updateSummary = getUpdateSummary( includeSnapshots );
+        return updateSummary != null ? updateSummary.getNewestUpdate( updateScope ) : null;
     }
 
     public final ArtifactVersion[] getAllUpdates( Optional<Segment> updateScope, boolean includeSnapshots )
     {
-        if ( isCurrentVersionDefined() )
+        UpdateSummary updateSummary = getUpdateSummary( includeSnapshots );
+        return updateSummary != null ? updateSummary.getAllUpdates( updateScope ) : null;
+    }
+
+    /**
+     * Returns the updates of the current version, computing them on the first call after the current version
+     * was set.
+     *
+     * @param includeSnapshots whether snapshot versions should be included
+     * @return the updates of the current version, or <code>null</code> if the current version is not defined
+     */
+    private UpdateSummary getUpdateSummary( boolean includeSnapshots )
+    {
+        final int index = includeSnapshots ? 1 : 0;
+        final ArtifactVersion version;
+        synchronized ( currentVersionLock )
         {
-            return getAllUpdates( getCurrentVersion(), updateScope, includeSnapshots );
+            if ( updateSummaries[index] != null || currentVersion == null )
+            {
+                return updateSummaries[index];
+            }
+            version = currentVersion;
         }
-        return null;
+
+        ArtifactVersion[][] updates = new ArtifactVersion[Segment.values().length + 1][];
+        updates[UpdateSummary.indexOf( empty() )] = getAllUpdates( version, empty(), includeSnapshots );
+        for ( Segment segment : Segment.values() )
+        {
+            updates[UpdateSummary.indexOf( of( segment ) )] = getAllUpdates( version, of( segment ),
+                                                                             includeSnapshots );
+        }
+        UpdateSummary updateSummary = new UpdateSummary( updates );
+
+        synchronized ( currentVersionLock )
+        {
+            if ( currentVersion == version )
+            {
+                updateSummaries[index] = updateSummary;
+            }
+        }
+        return updateSummary;
     }
 
     public final ArtifactVersion[] getAllUpdates( VersionRange versionRange )
@@ -505,27 +500,84 @@ public abstract class AbstractVersionDetails
     }
 
     /**
-     * Checks if the candidate version is in the range of the restriction.
-     * a custom comparator is/can be used to have milestones and rcs before final releases,
+     * Returns the available versions sorted by the {@linkplain #getVersionComparator() version comparator}, without
+     * copying them if possible, so the array must not be modified. Snapshots are only included if
+     * <code>includeSnapshots</code> is set.
+     *
+     * @param includeSnapshots whether snapshot versions should be included
+     * @return the sorted versions
+     * @since 2.13.0
+     */
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        return getVersions( includeSnapshots );
+    }
+
+    /**
+     * Finds, by binary search, the index of the oldest of the sorted versions above the lower bound of the
+     * restriction. A custom comparator is/can be used to have milestones and rcs before final releases,
      * which is not yet possible with {@link Restriction#containsVersion(ArtifactVersion)}.
-     * @param restriction the range to check against.
-     * @param candidate the version to check.
-     * @return true if the candidate version is within the range of the restriction parameter.
+     *
+     * @param versions the versions, sorted by the version comparator.
+     * @param restriction the restriction, or <code>null</code> for none.
+     * @return the index of the first version within the lower bound of the restriction.
      */
-    private boolean isVersionInRestriction( Restriction restriction, ArtifactVersion candidate )
+    private int lowerIndex( ArtifactVersion[] versions, Restriction restriction )
     {
-        ArtifactVersion lowerBound = restriction.getLowerBound();
-        ArtifactVersion upperBound = restriction.getUpperBound();
-        boolean includeLower = restriction.isLowerBoundInclusive();
-        boolean includeUpper = restriction.isUpperBoundInclusive();
+        if ( restriction == null || restriction.getLowerBound() == null )
+        {
+            return 0;
+        }
         final VersionComparator versionComparator = getVersionComparator();
-        int lower = lowerBound == null ? -1 : versionComparator.compare( lowerBound, candidate );
-        int upper = upperBound == null ? +1 : versionComparator.compare( upperBound, candidate );
-        if ( lower > 0 || upper < 0 )
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
         {
-            return false;
+            int mid = ( low + high ) >>> 1;
+            int lower = versionComparator.compare( restriction.getLowerBound(), versions[mid] );
+            if ( lower > 0 || lower == 0 && !restriction.isLowerBoundInclusive() )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds, by binary search, the index following the newest of the sorted versions below the upper bound of the
+     * restriction.
+     *
+     * @param versions the versions, sorted by the version comparator.
+     * @param restriction the restriction, or <code>null</code> for none.
+     * @return the index following the last version within the upper bound of the restriction.
+     */
+    private int upperIndex( ArtifactVersion[] versions, Restriction restriction )
+    {
+        if ( restriction == null || restriction.getUpperBound() == null )
+        {
+            return versions.length;
+        }
+        final VersionComparator versionComparator = getVersionComparator();
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
+        {
+            int mid = ( low + high ) >>> 1;
+            int upper = versionComparator.compare( restriction.getUpperBound(), versions[mid] );
+            if ( upper > 0 || upper == 0 && restriction.isUpperBoundInclusive() )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
         }
-        return ( includeLower || lower != 0 ) && ( includeUpper || upper != 0 );
+        return low;
     }
 
     /**
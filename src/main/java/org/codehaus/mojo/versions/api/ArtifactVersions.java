@@ -19,6 +19,8 @@ package org.codehaus.mojo.versions.api;
  * under the License.
  */
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -47,11 +49,18 @@ public class ArtifactVersions
     private final Artifact artifact;
 
     /**
-     * The available versions.
+     * The available versions, sorted by the version comparator.
      *
      * @since 1.0-alpha-3
      */
-    private final SortedSet<ArtifactVersion> versions;
+    private final ArtifactVersion[] versions;
+
+    /**
+     * The available versions which are not snapshots, sorted by the version comparator.
+     *
+     * @since 2.13.0
+     */
+    private final ArtifactVersion[] releases;
 
     /**
      * The version comparison rule that is used for this artifact.
@@ -60,6 +69,13 @@ public class ArtifactVersions
      */
     private final VersionComparator versionComparator;
 
+    /**
+     * Whether the versions could not be looked up in time.
+     *
+     * @since 2.13.0
+     */
+    private boolean unknown;
+
     /**
      * Creates a new {@link ArtifactVersions} instance.
      *
@@ -72,14 +88,33 @@ public class ArtifactVersions
     {
         this.artifact = artifact;
         this.versionComparator = versionComparator;
-        this.versions = new TreeSet<>( versionComparator );
-        this.versions.addAll( versions );
+        SortedSet<ArtifactVersion> sorted = new TreeSet<>( versionComparator );
+        sorted.addAll( versions );
+        this.versions = sorted.toArray( new ArtifactVersion[0] );
+        this.releases = sorted.stream().filter( v -> !ArtifactUtils.isSnapshot( v.toString() ) )
+            .toArray( ArtifactVersion[]::new );
         if ( artifact.getVersion() != null )
         {
             setCurrentVersion( artifact.getVersion() );
         }
     }
 
+    /**
+     * Creates an {@link ArtifactVersions} instance for an artifact whose versions are unknown,
+     * because the lookup did not complete in time.
+     *
+     * @param artifact The artifact.
+     * @param versionComparator The version comparison rule.
+     * @return an instance without any available versions, flagged as {@linkplain #isUnknown() unknown}.
+     * @since 2.13.0
+     */
+    public static ArtifactVersions unknown( Artifact artifact, VersionComparator versionComparator )
+    {
+        ArtifactVersions result = new ArtifactVersions( artifact, Collections.emptyList(), versionComparator );
+        result.unknown = true;
+        return result;
+    }
+
     /**
      * Checks if the version is in the range (and ensures that the range respects the <code>-!</code> syntax to rule out
      * any qualifiers from range boundaries).
@@ -133,6 +168,17 @@ public class ArtifactVersions
         return artifact;
     }
 
+    /**
+     * Returns whether the available versions are unknown, because the lookup did not complete in time.
+     *
+     * @return <code>true</code> if the available versions are unknown.
+     * @since 2.13.0
+     */
+    public boolean isUnknown()
+    {
+        return unknown;
+    }
+
     /**
      * Returns the groupId of the artifact who's versions we are holding.
      *
@@ -157,10 +203,15 @@ public class ArtifactVersions
 
     public ArtifactVersion[] getVersions( boolean includeSnapshots )
     {
-        return includeSnapshots
-                ? versions.toArray( new ArtifactVersion[0] )
-                : versions.stream().filter( v -> !ArtifactUtils.isSnapshot( v.toString() ) )
-                .toArray( ArtifactVersion[]::new );
+        return getSortedVersions( includeSnapshots ).clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        return includeSnapshots ? versions : releases;
     }
 
     public VersionComparator getVersionComparator()
@@ -173,7 +224,7 @@ public class ArtifactVersions
      */
     public String toString()
     {
-        return "ArtifactVersions" + "{artifact=" + artifact + ", versions=" + versions + ", versionComparator="
-            + versionComparator + '}';
+        return "ArtifactVersions" + "{artifact=" + artifact + ", versions=" + Arrays.asList( versions )
+            + ", versionComparator=" + versionComparator + '}';
     }
 }
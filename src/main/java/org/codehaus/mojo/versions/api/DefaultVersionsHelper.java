@@ -20,6 +20,8 @@ package org.codehaus.mojo.versions.api;
  */
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,19 +33,24 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import org.apache.maven.artifact.Artifact;
@@ -68,6 +75,7 @@ import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.settings.Settings;
 import org.apache.maven.wagon.ConnectionException;
 import org.apache.maven.wagon.ResourceDoesNotExistException;
+import org.apache.maven.wagon.StreamingWagon;
 import org.apache.maven.wagon.TransferFailedException;
 import org.apache.maven.wagon.UnsupportedProtocolException;
 import org.apache.maven.wagon.Wagon;
@@ -103,11 +111,9 @@ public class DefaultVersionsHelper
 {
     private static final String CLASSPATH_PROTOCOL = "classpath";
 
-    private static final String TYPE_EXACT = "exact";
+    static final String TYPE_EXACT = "exact";
 
-    private static final String TYPE_REGEX = "regex";
-
-    private static final int LOOKUP_PARALLEL_THREADS = 5;
+    static final String TYPE_REGEX = "regex";
 
     /**
      * The artifact comparison rules to use.
@@ -116,6 +122,27 @@ public class DefaultVersionsHelper
      */
     private RuleSet ruleSet;
 
+    /**
+     * The index of the rules of the {@link #ruleSet}.
+     *
+     * @since 2.13.0
+     */
+    private RuleIndex ruleIndex;
+
+    /**
+     * The global ignored versions of the {@link #ruleSet}.
+     *
+     * @since 2.13.0
+     */
+    private IgnoredVersionsMatcher globalIgnoredVersions;
+
+    /**
+     * The ignored versions of the rules of the {@link #ruleSet} which have any, including the global ones.
+     *
+     * @since 2.13.0
+     */
+    private Map<Rule, IgnoredVersionsMatcher> ruleIgnoredVersions;
+
     /**
      * The artifact metadata source to use.
      *
@@ -171,11 +198,59 @@ public class DefaultVersionsHelper
 
     /**
      * A cache mapping artifacts to their best fitting rule, since looking up
-     * this information can be quite costly.
+     * this information can be quite costly. It is shared by the lookup threads, and holds
+     * an empty value for the artifacts which no rule applies to.
      *
      * @since 2.12
      */
-    private final Map<String, Rule> artifactBestFitRule = new HashMap<>();
+    private final ConcurrentMap<String, Optional<Rule>> artifactBestFitRule = new ConcurrentHashMap<>();
+
+    /**
+     * The persistent cache of available versions, or {@code null} if versions are always retrieved
+     * from the repositories.
+     *
+     * @since 2.13.0
+     */
+    private PersistentVersionsCache versionsCache;
+
+    /**
+     * The cache of available versions shared by all the modules of the build.
+     *
+     * @since 2.13.0
+     */
+    private SessionVersionsCache sessionVersionsCache;
+
+    /**
+     * The versions common to all the artifacts of a set of associations, keyed by the set of associations,
+     * so that the properties linked to the same artifacts only intersect their versions once.
+     *
+     * @since 2.13.0
+     */
+    private final ConcurrentMap<Set<ArtifactAssociation>, List<ArtifactVersion>> associatedVersions =
+        new ConcurrentHashMap<>();
+
+    /**
+     * The thread pool used to look up versions in parallel, shared by all the modules of the build.
+     *
+     * @since 2.13.0
+     */
+    private LookupExecutor lookupExecutor;
+
+    /**
+     * The time, in milliseconds, a single version lookup may take before it is abandoned, or {@code 0}
+     * for no limit.
+     *
+     * @since 2.13.0
+     */
+    private long lookupTimeout;
+
+    /**
+     * The time, in milliseconds, a batch of version lookups may take before the remaining lookups are abandoned,
+     * or {@code 0} for no limit.
+     *
+     * @since 2.13.0
+     */
+    private long lookupBudget;
 
     /**
      * Private constructor used by the builder
@@ -184,18 +259,51 @@ public class DefaultVersionsHelper
     {
     }
 
-    @Deprecated
-    private static RuleSet getRuleSet( Wagon wagon, String remoteURI )
+    /**
+     * Loads the XML of a rule set through the given wagon, streaming it straight to memory if the wagon supports it,
+     * or through a temporary file otherwise.
+     *
+     * @param ifModifiedSince the time, in milliseconds since the epoch, of the copy of the rules already available,
+     *                        or <code>0</code> to load the rules unconditionally.
+     * @return the XML of the rules, or <code>null</code> if they have not been modified since
+     * <code>ifModifiedSince</code>.
+     */
+    static byte[] getRuleSetXml( Wagon wagon, String remoteURI, long ifModifiedSince )
         throws IOException, AuthorizationException, TransferFailedException, ResourceDoesNotExistException
     {
+        if ( wagon instanceof StreamingWagon )
+        {
+            // rule sets are small, buffering them in memory spares a round trip to the disk
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            if ( ifModifiedSince > 0L )
+            {
+                if ( !( (StreamingWagon) wagon ).getIfNewerToStream( remoteURI, buffer, ifModifiedSince ) )
+                {
+                    return null;
+                }
+            }
+            else
+            {
+                ( (StreamingWagon) wagon ).getToStream( remoteURI, buffer );
+            }
+            return buffer.toByteArray();
+        }
+
         File tempFile = File.createTempFile( "ruleset", ".xml" );
         try
         {
-            wagon.get( remoteURI, tempFile );
-            try ( InputStream is = Files.newInputStream( tempFile.toPath() ) )
+            if ( ifModifiedSince > 0L )
             {
-                return readRulesFromStream( is );
+                if ( !wagon.getIfNewer( remoteURI, tempFile, ifModifiedSince ) )
+                {
+                    return null;
+                }
             }
+            else
+            {
+                wagon.get( remoteURI, tempFile );
+            }
+            return Files.readAllBytes( tempFile.toPath() );
         }
         finally
         {
@@ -311,7 +419,30 @@ public class DefaultVersionsHelper
                                              WagonManager wagonManager, Settings settings )
         throws MojoExecutionException
     {
-        RuleSet loadedRules = new RuleSet();
+        byte[] xml = getRulesViaWagon( rulesUri, logger, serverId, id, wagonManager, settings, 0L );
+        try
+        {
+            return readRulesFromStream( new ByteArrayInputStream( xml ) );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Could not load specified rules from " + rulesUri, e );
+        }
+    }
+
+    /**
+     * Loads the XML of the rules from the given URI.
+     *
+     * @param ifModifiedSince the time, in milliseconds since the epoch, of the copy of the rules already available,
+     *                        or <code>0</code> to load the rules unconditionally.
+     * @return the XML of the rules, or <code>null</code> if they have not been modified since
+     * <code>ifModifiedSince</code>.
+     */
+    private static byte[] getRulesViaWagon( String rulesUri, Log logger, String serverId, String id,
+                                            WagonManager wagonManager, Settings settings, long ifModifiedSince )
+        throws MojoExecutionException
+    {
+        byte[] loadedRules;
 
         int split = rulesUri.lastIndexOf( '/' );
         String baseUri = rulesUri;
@@ -329,7 +460,7 @@ public class DefaultVersionsHelper
             try
             {
                 logger.debug( "Trying to load ruleset from file \"" + fileUri + "\" in " + baseUri );
-                loadedRules = getRuleSet( wagon, fileUri );
+                loadedRules = getRuleSetXml( wagon, fileUri, ifModifiedSince );
             }
             finally
             {
@@ -393,105 +524,286 @@ public class DefaultVersionsHelper
     {
         List<ArtifactRepository> remoteRepositories = usePluginRepositories
                 ? remotePluginRepositories : remoteArtifactRepositories;
-        final List<ArtifactVersion> versions =
-            artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository, remoteRepositories );
-        final List<IgnoreVersion> ignoredVersions = getIgnoredVersions( artifact );
+        final List<ArtifactVersion> versions = retrieveAvailableVersions( artifact, remoteRepositories );
+        final IgnoredVersionsMatcher ignoredVersions = getIgnoredVersions( artifact );
         if ( !ignoredVersions.isEmpty() )
         {
             if ( getLog().isDebugEnabled() )
             {
-                getLog().debug( "Found ignored versions: " + showIgnoredVersions( ignoredVersions ) );
+                getLog().debug( "Found ignored versions: "
+                                    + showIgnoredVersions( ignoredVersions.getIgnoreVersions() ) );
             }
 
             final Iterator<ArtifactVersion> i = versions.iterator();
             while ( i.hasNext() )
             {
                 final String version = i.next().toString();
-                for ( final IgnoreVersion ignoreVersion : ignoredVersions )
+                if ( ignoredVersions.matches( version ) )
                 {
-                    if ( TYPE_REGEX.equals( ignoreVersion.getType() ) )
+                    if ( getLog().isDebugEnabled() )
                     {
-                        Pattern p = Pattern.compile( ignoreVersion.getVersion() );
-                        if ( p.matcher( version ).matches() )
-                        {
-                            if ( getLog().isDebugEnabled() )
-                            {
-                                getLog().debug( "Version " + version + " for artifact "
-                                                    + ArtifactUtils.versionlessKey( artifact )
-                                                    + " found on ignore list: "
-                                                    + ignoreVersion );
-                            }
-                            i.remove();
-                            break;
-                        }
-                    }
-                    else if ( TYPE_EXACT.equals( ignoreVersion.getType() ) )
-                    {
-                        if ( version.equals( ignoreVersion.getVersion() ) )
-                        {
-                            if ( getLog().isDebugEnabled() )
-                            {
-                                getLog().debug( "Version " + version + " for artifact "
-                                                    + ArtifactUtils.versionlessKey( artifact )
-                                                    + " found on ignore list: "
-                                                    + ignoreVersion );
-                            }
-                            i.remove();
-                            break;
-                        }
+                        getLog().debug( "Version " + version + " for artifact "
+                                            + ArtifactUtils.versionlessKey( artifact )
+                                            + " found on ignore list: "
+                                            + ignoredVersions.findMatch( version ) );
                     }
+                    i.remove();
                 }
             }
         }
         return new ArtifactVersions( artifact, versions, getVersionComparator( artifact ) );
     }
 
+    @Override
+    public List<ArtifactVersion> lookupAssociatedVersions( Set<ArtifactAssociation> associations )
+        throws ArtifactMetadataRetrievalException
+    {
+        if ( associations.isEmpty() )
+        {
+            return Collections.emptyList();
+        }
+        List<ArtifactVersion> result = associatedVersions.get( associations );
+        if ( result == null )
+        {
+            result = intersectVersions( associations, association -> lookupArtifactVersions(
+                association.getArtifact(), association.isUsePluginRepositories() ) );
+            associatedVersions.putIfAbsent( new TreeSet<>( associations ), result );
+        }
+        return result;
+    }
+
     /**
-     * Returns a list of versions which should not be considered when looking for updates.
+     * Looks up the versions of the given associations.
+     */
+    @FunctionalInterface
+    private interface AssociationLookup
+    {
+        ArtifactVersions lookup( ArtifactAssociation association )
+            throws ArtifactMetadataRetrievalException;
+    }
+
+    private static List<ArtifactVersion> intersectVersions( Set<ArtifactAssociation> associations,
+                                                            AssociationLookup lookup )
+        throws ArtifactMetadataRetrievalException
+    {
+        List<ArtifactVersion> result = null;
+        for ( ArtifactAssociation association : associations )
+        {
+            final ArtifactVersion[] versions = lookup.lookup( association ).getVersions( true );
+            result = result == null ? Arrays.asList( versions ) : retainCommonVersions( result, versions );
+        }
+        return result == null ? Collections.emptyList() : Collections.unmodifiableList( result );
+    }
+
+    /**
+     * Retains the versions which are also among the given other versions, two versions being the same if they
+     * compare equal. Both sequences are sorted in their natural order and merged, rather than looking up each
+     * version among all the other versions.
      *
-     * @param artifact The artifact
-     * @return List of ignored version
+     * @param versions The versions to filter.
+     * @param others The versions to look for.
+     * @return The versions found among the other versions, in their original order.
      */
-    private List<IgnoreVersion> getIgnoredVersions( Artifact artifact )
+    static List<ArtifactVersion> retainCommonVersions( List<ArtifactVersion> versions, ArtifactVersion[] others )
     {
-        final List<IgnoreVersion> ret = new ArrayList<>();
+        final ArtifactVersion[] sorted = versions.toArray( new ArtifactVersion[0] );
+        final ArtifactVersion[] sortedOthers = others.clone();
+        Arrays.sort( sorted );
+        Arrays.sort( sortedOthers );
 
-        for ( final IgnoreVersion ignoreVersion : ruleSet.getIgnoreVersions() )
+        // since ArtifactVersion does not override equals, the versions found are kept by identity
+        final Set<ArtifactVersion> common = Collections.newSetFromMap( new IdentityHashMap<>() );
+        for ( int i = 0, j = 0; i < sorted.length && j < sortedOthers.length; )
         {
-            if ( !TYPE_EXACT.equals( ignoreVersion.getType() ) && !TYPE_REGEX.equals( ignoreVersion.getType() ) )
+            final int result = sorted[i].compareTo( sortedOthers[j] );
+            if ( result < 0 )
+            {
+                i++;
+            }
+            else if ( result > 0 )
             {
-                getLog().warn( "The type attribute '" + ignoreVersion.getType() + "' for global ignoreVersion["
-                                   + ignoreVersion + "] is not valid." + " Please use either '" + TYPE_EXACT + "' or '"
-                                   + TYPE_REGEX
-                                   + "'." );
+                j++;
             }
             else
             {
-                ret.add( ignoreVersion );
+                // equal versions may follow, so the other version is kept for the next one
+                common.add( sorted[i++] );
             }
         }
+        return versions.stream().filter( common::contains ).collect( Collectors.toList() );
+    }
 
+    /**
+     * Retrieves the versions available for the given artifact, consulting the {@link #sessionVersionsCache}
+     * first, so that each artifact is only looked up once per build.
+     *
+     * @param artifact The artifact
+     * @param remoteRepositories The remote repositories to consult
+     * @return A modifiable list of the available versions
+     * @throws ArtifactMetadataRetrievalException if the versions could not be retrieved
+     */
+    private List<ArtifactVersion> retrieveAvailableVersions( Artifact artifact,
+                                                             List<ArtifactRepository> remoteRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        if ( sessionVersionsCache == null )
+        {
+            return fetchAvailableVersions( artifact, remoteRepositories );
+        }
+        return sessionVersionsCache.getAvailableVersions( artifact, remoteRepositories,
+                                                          () -> fetchAvailableVersions( artifact,
+                                                                                        remoteRepositories ) );
+    }
+
+    /**
+     * Retrieves the versions available for the given artifact, consulting the {@link #versionsCache} first
+     * if there is one.
+     *
+     * @param artifact The artifact
+     * @param remoteRepositories The remote repositories to consult
+     * @return A modifiable list of the available versions
+     * @throws ArtifactMetadataRetrievalException if the versions could not be retrieved
+     */
+    private List<ArtifactVersion> fetchAvailableVersions( Artifact artifact,
+                                                          List<ArtifactRepository> remoteRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        if ( versionsCache == null )
+        {
+            return retrieveFromRepositories( artifact, remoteRepositories );
+        }
+
+        final String key = PersistentVersionsCache.key( artifact, remoteRepositories );
+        final List<String> cached = versionsCache.get( key );
+        if ( cached != null )
+        {
+            return cached.stream()
+                .map( DefaultArtifactVersion::new )
+                .collect( Collectors.toCollection( ArrayList::new ) );
+        }
+
+        // an artifact without any versions is cached too, as a negative entry with a shorter time to live
+        final List<ArtifactVersion> versions = retrieveFromRepositories( artifact, remoteRepositories );
+        versionsCache.put( key, versions == null
+            ? Collections.emptyList()
+            : versions.stream().map( ArtifactVersion::toString ).collect( Collectors.toList() ) );
+        return versions;
+    }
+
+    /**
+     * Retrieves the versions available for the given artifact from the repositories, within the limits
+     * of the {@link #lookupExecutor} and reporting the latency of the lookup to it.
+     *
+     * @param artifact The artifact
+     * @param remoteRepositories The remote repositories to consult
+     * @return A modifiable list of the available versions
+     * @throws ArtifactMetadataRetrievalException if the versions could not be retrieved
+     */
+    private List<ArtifactVersion> retrieveFromRepositories( Artifact artifact,
+                                                            List<ArtifactRepository> remoteRepositories )
+        throws ArtifactMetadataRetrievalException
+    {
+        final List<Semaphore> acquiredPermits;
+        try
+        {
+            acquiredPermits = lookupExecutor.acquirePermits( remoteRepositories );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ArtifactMetadataRetrievalException( "Interrupted while waiting to look up " + artifact, e,
+                                                          artifact );
+        }
+
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try
+        {
+            final List<ArtifactVersion> versions =
+                artifactMetadataSource.retrieveAvailableVersions( artifact, localRepository, remoteRepositories );
+            failed = false;
+            return versions;
+        }
+        finally
+        {
+            lookupExecutor.recordLookup( System.nanoTime() - start, failed );
+            lookupExecutor.releasePermits( acquiredPermits );
+        }
+    }
+
+    /**
+     * Returns the matcher of the versions which should not be considered when looking for updates.
+     *
+     * @param artifact The artifact
+     * @return The matcher of the global ignored versions, followed by those of the rule of the artifact
+     */
+    private IgnoredVersionsMatcher getIgnoredVersions( Artifact artifact )
+    {
         final Rule rule = getBestFitRule( artifact.getGroupId(), artifact.getArtifactId() );
+        return rule == null ? globalIgnoredVersions : ruleIgnoredVersions.getOrDefault( rule, globalIgnoredVersions );
+    }
 
-        if ( rule != null )
+    /**
+     * Compiles the ignored versions of the {@link #ruleSet}, once, when the rule set is loaded; ignored versions
+     * of an invalid type or with an invalid regular expression are reported and left out.
+     */
+    private void compileIgnoredVersions()
+    {
+        globalIgnoredVersions = new IgnoredVersionsMatcher(
+            validIgnoreVersions( ruleSet.getIgnoreVersions(), "global ignoreVersion" ) );
+        ruleIgnoredVersions = new IdentityHashMap<>();
+        for ( Rule rule : ruleSet.getRules() )
         {
-            for ( IgnoreVersion ignoreVersion : rule.getIgnoreVersions() )
+            if ( !rule.getIgnoreVersions().isEmpty() )
             {
-                if ( !TYPE_EXACT.equals( ignoreVersion.getType() ) && !TYPE_REGEX.equals( ignoreVersion.getType() ) )
+                ruleIgnoredVersions.put( rule, globalIgnoredVersions.with(
+                    validIgnoreVersions( rule.getIgnoreVersions(), String.valueOf( rule ) ) ) );
+            }
+        }
+    }
+
+    private List<IgnoreVersion> validIgnoreVersions( List<IgnoreVersion> ignoreVersions, String owner )
+    {
+        final List<IgnoreVersion> ret = new ArrayList<>();
+        for ( final IgnoreVersion ignoreVersion : ignoreVersions )
+        {
+            if ( !TYPE_EXACT.equals( ignoreVersion.getType() ) && !TYPE_REGEX.equals( ignoreVersion.getType() ) )
+            {
+                if ( log != null )
                 {
-                    getLog().warn( "The type attribute '" + ignoreVersion.getType() + "' for " + rule + " is not valid."
-                                       + " Please use either '" + TYPE_EXACT + "' or '" + TYPE_REGEX + "'." );
+                    log.warn( "The type attribute '" + ignoreVersion.getType() + "' for " + owner + "["
+                                  + ignoreVersion + "] is not valid." + " Please use either '" + TYPE_EXACT
+                                  + "' or '" + TYPE_REGEX + "'." );
                 }
-                else
+            }
+            else if ( TYPE_REGEX.equals( ignoreVersion.getType() ) && !isValidRegex( ignoreVersion.getVersion() ) )
+            {
+                if ( log != null )
                 {
-                    ret.add( ignoreVersion );
+                    log.warn( "The regular expression of " + owner + "[" + ignoreVersion + "] is not valid." );
                 }
             }
+            else
+            {
+                ret.add( ignoreVersion );
+            }
         }
-
         return ret;
     }
 
+    private static boolean isValidRegex( String regex )
+    {
+        try
+        {
+            Pattern.compile( regex );
+            return true;
+        }
+        catch ( PatternSyntaxException e )
+        {
+            return false;
+        }
+    }
+
     /**
      * Pretty print a list of ignored versions.
      *
@@ -546,64 +858,8 @@ public class DefaultVersionsHelper
      */
     protected Rule getBestFitRule( String groupId, String artifactId )
     {
-        String groupArtifactId = groupId + ':' + artifactId;
-        if ( artifactBestFitRule.containsKey( groupArtifactId ) )
-        {
-            return artifactBestFitRule.get( groupArtifactId );
-        }
-
-        Rule bestFit = null;
-        final List<Rule> rules = ruleSet.getRules();
-        int bestGroupIdScore = Integer.MAX_VALUE;
-        int bestArtifactIdScore = Integer.MAX_VALUE;
-        boolean exactGroupId = false;
-        boolean exactArtifactId = false;
-        for ( Rule rule : rules )
-        {
-            int groupIdScore = RegexUtils.getWildcardScore( rule.getGroupId() );
-            if ( groupIdScore > bestGroupIdScore )
-            {
-                continue;
-            }
-            boolean exactMatch = exactMatch( rule.getGroupId(), groupId );
-            boolean match = exactMatch || match( rule.getGroupId(), groupId );
-            if ( !match || ( exactGroupId && !exactMatch ) )
-            {
-                continue;
-            }
-            if ( bestGroupIdScore > groupIdScore )
-            {
-                bestArtifactIdScore = Integer.MAX_VALUE;
-                exactArtifactId = false;
-            }
-            bestGroupIdScore = groupIdScore;
-            if ( exactMatch && !exactGroupId )
-            {
-                exactGroupId = true;
-                bestArtifactIdScore = Integer.MAX_VALUE;
-                exactArtifactId = false;
-            }
-            int artifactIdScore = RegexUtils.getWildcardScore( rule.getArtifactId() );
-            if ( artifactIdScore > bestArtifactIdScore )
-            {
-                continue;
-            }
-            exactMatch = exactMatch( rule.getArtifactId(), artifactId );
-            match = exactMatch || match( rule.getArtifactId(), artifactId );
-            if ( !match || ( exactArtifactId && !exactMatch ) )
-            {
-                continue;
-            }
-            bestArtifactIdScore = artifactIdScore;
-            if ( exactMatch && !exactArtifactId )
-            {
-                exactArtifactId = true;
-            }
-            bestFit = rule;
-        }
-
-        artifactBestFitRule.put( groupArtifactId, bestFit );
-        return bestFit;
+        return artifactBestFitRule.computeIfAbsent( groupId + ':' + artifactId,
+                k -> Optional.ofNullable( ruleIndex.getBestFitRule( groupId, artifactId ) ) ).orElse( null );
     }
 
     @Override
@@ -672,43 +928,140 @@ public class DefaultVersionsHelper
     public Map<Dependency, ArtifactVersions> lookupDependenciesUpdates( Set<Dependency> dependencies,
                                                                         boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException
+    {
+        return lookupDependenciesUpdates( dependencies, usePluginRepositories, ( dependency, versions ) ->
+        {
+        } );
+    }
+
+    @Override
+    public Map<Dependency, ArtifactVersions> lookupDependenciesUpdates( Set<Dependency> dependencies,
+                                                                        boolean usePluginRepositories,
+                                                                        BiConsumer<Dependency, ArtifactVersions>
+                                                                            onLookup )
+        throws ArtifactMetadataRetrievalException
     {
         // Create the request for details collection for parallel lookup...
-        final List<Callable<DependencyArtifactVersions>> requestsForDetails =
-            new ArrayList<>( dependencies.size() );
-        for ( final Dependency dependency : dependencies )
+        final List<Dependency> requested = new ArrayList<>( dependencies );
+        final List<Callable<DependencyArtifactVersions>> requestsForDetails = new ArrayList<>( requested.size() );
+        for ( final Dependency dependency : requested )
         {
             requestsForDetails.add( new DependencyLookup( dependency, usePluginRepositories ) );
         }
 
         final Map<Dependency, ArtifactVersions> dependencyUpdates = new TreeMap<>( new DependencyComparator() );
+        final List<ExecutionException> failures = new ArrayList<>();
 
-        // Lookup details in parallel...
-        final ExecutorService executor = Executors.newFixedThreadPool( LOOKUP_PARALLEL_THREADS );
+        // Lookup details in parallel, reporting each one as soon as it completes...
         try
         {
-            final List<Future<DependencyArtifactVersions>> responseForDetails =
-                executor.invokeAll( requestsForDetails );
-
-            // Construct the final results...
-            for ( final Future<DependencyArtifactVersions> details : responseForDetails )
+            lookupExecutor.invokeAll( requestsForDetails, ( details, index ) ->
             {
-                final DependencyArtifactVersions dav = details.get();
-                dependencyUpdates.put( dav.getDependency(), dav.getArtifactVersions() );
-            }
+                final Dependency dependency = requested.get( index );
+                try
+                {
+                    final DependencyArtifactVersions dav = getCompleted( details );
+                    final ArtifactVersions versions = dav != null
+                        ? dav.getArtifactVersions()
+                        : unknownVersions( createDependencyArtifact( dependency ) );
+                    dependencyUpdates.put( dependency, versions );
+                    onLookup.accept( dependency, versions );
+                }
+                catch ( ExecutionException e )
+                {
+                    failures.add( e );
+                }
+            }, lookupTimeout, lookupBudget );
         }
-        catch ( ExecutionException | InterruptedException ie )
+        catch ( InterruptedException ie )
         {
             throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for dependencies " + dependencies
                                                               + ": " + ie.getMessage(), ie, null );
         }
-        finally
+        if ( !failures.isEmpty() )
         {
-            executor.shutdownNow();
+            throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for dependencies " + dependencies
+                                                              + ": " + failures.get( 0 ).getMessage(),
+                                                          failures.get( 0 ), null );
         }
         return dependencyUpdates;
     }
 
+    /**
+     * Returns the result of a completed task, or {@code null} if the task was cancelled because it did not
+     * complete in time.
+     *
+     * @param future The future of a completed task
+     * @param <T> The type of the result
+     * @return The result of the task, or {@code null} if the task was cancelled
+     * @throws ExecutionException if the task failed
+     */
+    private static <T> T getCompleted( Future<T> future )
+        throws ExecutionException
+    {
+        if ( future.isCancelled() )
+        {
+            return null;
+        }
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            // cannot happen, since the task is complete
+            Thread.currentThread().interrupt();
+            throw new ExecutionException( e );
+        }
+    }
+
+    /**
+     * Creates the versions of an artifact whose lookup did not complete in time.
+     *
+     * @param artifact The artifact
+     * @return The unknown versions of the artifact
+     */
+    private ArtifactVersions unknownVersions( Artifact artifact )
+    {
+        getLog().warn( "Timed out looking up the versions of "
+                           + ArtifactUtils.versionlessKey( artifact ) + ", its updates are unknown" );
+        return ArtifactVersions.unknown( artifact, getVersionComparator( artifact ) );
+    }
+
+    @Override
+    public void prefetchArtifactVersions( Collection<Artifact> artifacts, boolean usePluginRepositories )
+    {
+        final List<ArtifactRepository> remoteRepositories = usePluginRepositories
+            ? remotePluginRepositories : remoteArtifactRepositories;
+        final List<Artifact> requested = new ArrayList<>( artifacts );
+        final List<Callable<List<ArtifactVersion>>> requests = new ArrayList<>( requested.size() );
+        for ( final Artifact artifact : requested )
+        {
+            requests.add( () -> retrieveAvailableVersions( artifact, remoteRepositories ) );
+        }
+
+        try
+        {
+            lookupExecutor.invokeAll( requests, ( future, index ) ->
+            {
+                try
+                {
+                    getCompleted( future );
+                }
+                catch ( ExecutionException e )
+                {
+                    getLog().debug( "Unable to prefetch the versions of "
+                                        + ArtifactUtils.versionlessKey( requested.get( index ) ) + ": "
+                                        + e.getCause().getMessage() );
+                }
+            }, lookupTimeout, lookupBudget );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     public ArtifactVersions lookupDependencyUpdates( Dependency dependency, boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException
@@ -724,27 +1077,63 @@ public class DefaultVersionsHelper
     public Map<Plugin, PluginUpdatesDetails> lookupPluginsUpdates( Set<Plugin> plugins, boolean allowSnapshots )
         throws ArtifactMetadataRetrievalException
     {
-        // Create the request for details collection for parallel lookup...
-        List<Callable<PluginPluginUpdatesDetails>> requestsForDetails = new ArrayList<>( plugins.size() );
+        // Create the requests for the plugin artifacts, followed by those for the dependencies of all the
+        // plugins, so that each distinct dependency is only looked up once...
+        final Set<Dependency> pluginDependencies = new TreeSet<>( new DependencyComparator() );
+        final List<Callable<ArtifactVersions>> requestsForDetails = new ArrayList<>( plugins.size() );
         for ( final Plugin plugin : plugins )
         {
-            requestsForDetails.add( new PluginLookup( plugin, allowSnapshots ) );
+            requestsForDetails.add( () -> lookupPluginArtifactVersions( plugin ) );
+            if ( plugin.getDependencies() != null )
+            {
+                pluginDependencies.addAll( plugin.getDependencies() );
+            }
+        }
+        for ( final Dependency dependency : pluginDependencies )
+        {
+            requestsForDetails.add( () -> lookupDependencyUpdates( dependency, false ) );
         }
 
-        Map<Plugin, PluginUpdatesDetails> pluginUpdates = new TreeMap<>( new PluginComparator() );
+        final Map<Plugin, PluginUpdatesDetails> pluginUpdates = new TreeMap<>( new PluginComparator() );
 
         // Lookup details in parallel...
-        ExecutorService executor = Executors.newFixedThreadPool( LOOKUP_PARALLEL_THREADS );
         try
         {
-            final List<Future<PluginPluginUpdatesDetails>> responseForDetails =
-                executor.invokeAll( requestsForDetails );
+            final Iterator<Future<ArtifactVersions>> responseForDetails =
+                lookupExecutor.invokeAll( requestsForDetails, lookupTimeout, lookupBudget ).iterator();
+
+            final List<ArtifactVersions> pluginArtifactVersions = new ArrayList<>( plugins.size() );
+            for ( final Plugin plugin : plugins )
+            {
+                final ArtifactVersions versions = getCompleted( responseForDetails.next() );
+                pluginArtifactVersions.add( versions != null
+                                                ? versions
+                                                : unknownVersions( createPluginArtifact( plugin ) ) );
+            }
+            final Map<Dependency, ArtifactVersions> dependencyUpdates = new TreeMap<>( new DependencyComparator() );
+            for ( final Dependency dependency : pluginDependencies )
+            {
+                final ArtifactVersions versions = getCompleted( responseForDetails.next() );
+                dependencyUpdates.put( dependency, versions != null
+                    ? versions
+                    : unknownVersions( createDependencyArtifact( dependency ) ) );
+            }
 
             // Construct the final results...
-            for ( final Future<PluginPluginUpdatesDetails> details : responseForDetails )
+            final Iterator<ArtifactVersions> pluginArtifactVersion = pluginArtifactVersions.iterator();
+            for ( final Plugin plugin : plugins )
             {
-                final PluginPluginUpdatesDetails pud = details.get();
-                pluginUpdates.put( pud.getPlugin(), pud.getPluginUpdatesDetails() );
+                final Map<Dependency, ArtifactVersions> pluginDependencyDetails =
+                    new TreeMap<>( new DependencyComparator() );
+                if ( plugin.getDependencies() != null )
+                {
+                    for ( final Dependency dependency : plugin.getDependencies() )
+                    {
+                        pluginDependencyDetails.put( dependency, dependencyUpdates.get( dependency ) );
+                    }
+                }
+                pluginUpdates.put( plugin, new PluginUpdatesDetails( pluginArtifactVersion.next(),
+                                                                     pluginDependencyDetails, allowSnapshots ) );
             }
         }
         catch ( ExecutionException | InterruptedException ie )
@@ -752,10 +1141,6 @@ public class DefaultVersionsHelper
             throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for plugins " + plugins + ": "
                                                               + ie.getMessage(), ie, null );
         }
-        finally
-        {
-            executor.shutdownNow();
-        }
         return pluginUpdates;
     }
 
@@ -763,26 +1148,37 @@ public class DefaultVersionsHelper
     public PluginUpdatesDetails lookupPluginUpdates( Plugin plugin, boolean allowSnapshots )
         throws ArtifactMetadataRetrievalException
     {
-        String version = plugin.getVersion();
-        version = version == null ? "LATEST" : version;
-        getLog().debug( "Checking " + ArtifactUtils.versionlessKey( plugin.getGroupId(), plugin.getArtifactId() )
-                            + " for updates newer than " + version );
-
-        boolean includeSnapshots = allowSnapshots;
+        return lookupPluginsUpdates( Collections.singleton( plugin ), allowSnapshots ).get( plugin );
+    }
 
-        final ArtifactVersions pluginArtifactVersions =
-            lookupArtifactVersions( createPluginArtifact( plugin.getGroupId(), plugin.getArtifactId(), version ),
-                                    true );
+    /**
+     * Looks up the versions of the plugin artifact itself, leaving out its dependencies.
+     *
+     * @param plugin The plugin
+     * @return The versions of the plugin
+     * @throws ArtifactMetadataRetrievalException When things go wrong
+     */
+    private ArtifactVersions lookupPluginArtifactVersions( Plugin plugin )
+        throws ArtifactMetadataRetrievalException
+    {
+        final Artifact artifact = createPluginArtifact( plugin );
+        getLog().debug( "Checking " + ArtifactUtils.versionlessKey( artifact )
+                            + " for updates newer than " + artifact.getVersion() );
 
-        Set<Dependency> pluginDependencies = new TreeSet<>( new DependencyComparator() );
-        if ( plugin.getDependencies() != null )
-        {
-            pluginDependencies.addAll( plugin.getDependencies() );
-        }
-        Map<Dependency, ArtifactVersions> pluginDependencyDetails =
-            lookupDependenciesUpdates( pluginDependencies, false );
+        return lookupArtifactVersions( artifact, true );
+    }
 
-        return new PluginUpdatesDetails( pluginArtifactVersions, pluginDependencyDetails, includeSnapshots );
+    /**
+     * Creates the artifact of a plugin, using {@code LATEST} if the plugin has no version.
+     *
+     * @param plugin The plugin
+     * @return The artifact of the plugin
+     */
+    private Artifact createPluginArtifact( Plugin plugin )
+    {
+        String version = plugin.getVersion();
+        version = version == null ? "LATEST" : version;
+        return createPluginArtifact( plugin.getGroupId(), plugin.getArtifactId(), version );
     }
 
     @Override
@@ -857,7 +1253,7 @@ public class DefaultVersionsHelper
             }
         }
         i = properties.values().iterator();
-        Map<Property, PropertyVersions> propertyVersions = new LinkedHashMap<>( properties.size() );
+        Map<Property, PropertyVersionsBuilder> propertyBuilders = new LinkedHashMap<>( properties.size() );
         while ( i.hasNext() )
         {
             Property property = i.next();
@@ -883,9 +1279,40 @@ public class DefaultVersionsHelper
                     builder.addAssociation( this.createDependencyArtifact( dependency ), false );
                 }
             }
+            propertyBuilders.put( property, builder );
+        }
+
+        final Set<ArtifactAssociation> timedOut;
+        try
+        {
+            timedOut = resolveAssociatedVersions( propertyBuilders.values() );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+        Map<Property, PropertyVersions> propertyVersions = new LinkedHashMap<>( properties.size() );
+        for ( Map.Entry<Property, PropertyVersionsBuilder> entry : propertyBuilders.entrySet() )
+        {
+            Property property = entry.getKey();
+            PropertyVersionsBuilder builder = entry.getValue();
             try
             {
-                final PropertyVersions versions = builder.newPropertyVersions();
+                final PropertyVersions versions;
+                final Set<ArtifactAssociation> associations =
+                    new TreeSet<>( Arrays.asList( builder.getAssociations() ) );
+                if ( !Collections.disjoint( associations, timedOut )
+                    && !associatedVersions.containsKey( associations ) )
+                {
+                    // the versions common to the associations cannot be known without the versions of each of them
+                    getLog().warn( "Timed out looking up the versions of the artifacts associated with ${"
+                                       + property.getName() + "}, its updates are unknown" );
+                    versions = builder.newUnknownPropertyVersions();
+                }
+                else
+                {
+                    versions = builder.newPropertyVersions();
+                }
                 if ( property.isAutoLinkDependencies() && StringUtils.isEmpty( property.getVersion() )
                     && !StringUtils.isEmpty( builder.getVersionRange() ) )
                 {
@@ -904,6 +1331,92 @@ public class DefaultVersionsHelper
         return propertyVersions;
     }
 
+    /**
+     * Looks up the versions of the associations of all the given properties in parallel, each distinct association
+     * once, and computes the versions common to the associations of each property, so that the
+     * {@link PropertyVersions} are then built from the {@link #associatedVersions} cache. The properties
+     * associated with an artifact whose versions could not be looked up in time are left out of the cache.
+     *
+     * @param builders The builders of the properties
+     * @return The associations whose versions could not be looked up in time
+     * @throws ArtifactMetadataRetrievalException if the versions of an association could not be retrieved
+     */
+    private Set<ArtifactAssociation> resolveAssociatedVersions( Collection<PropertyVersionsBuilder> builders )
+        throws ArtifactMetadataRetrievalException
+    {
+        final Set<ArtifactAssociation> pending = new TreeSet<>();
+        for ( PropertyVersionsBuilder builder : builders )
+        {
+            final Set<ArtifactAssociation> associations = new TreeSet<>( Arrays.asList( builder.getAssociations() ) );
+            if ( !associatedVersions.containsKey( associations ) )
+            {
+                pending.addAll( associations );
+            }
+        }
+        if ( pending.isEmpty() )
+        {
+            return Collections.emptySet();
+        }
+
+        final List<ArtifactAssociation> requested = new ArrayList<>( pending );
+        final List<Callable<ArtifactVersions>> requests = new ArrayList<>( requested.size() );
+        for ( final ArtifactAssociation association : requested )
+        {
+            requests.add( () -> lookupArtifactVersions( association.getArtifact(),
+                                                        association.isUsePluginRepositories() ) );
+        }
+
+        final Map<ArtifactAssociation, ArtifactVersions> resolved = new HashMap<>( requested.size() );
+        final Set<ArtifactAssociation> timedOut = new TreeSet<>();
+        final List<ExecutionException> failures = new ArrayList<>();
+        try
+        {
+            lookupExecutor.invokeAll( requests, ( future, index ) ->
+            {
+                final ArtifactAssociation association = requested.get( index );
+                try
+                {
+                    final ArtifactVersions versions = getCompleted( future );
+                    if ( versions != null )
+                    {
+                        resolved.put( association, versions );
+                    }
+                    else
+                    {
+                        timedOut.add( association );
+                    }
+                }
+                catch ( ExecutionException e )
+                {
+                    failures.add( e );
+                }
+            }, lookupTimeout, lookupBudget );
+        }
+        catch ( InterruptedException ie )
+        {
+            throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for " + requested + ": "
+                                                              + ie.getMessage(), ie, null );
+        }
+        if ( !failures.isEmpty() )
+        {
+            throw new ArtifactMetadataRetrievalException( "Unable to acquire metadata for " + requested + ": "
+                                                              + failures.get( 0 ).getMessage(),
+                                                          failures.get( 0 ), null );
+        }
+
+        for ( PropertyVersionsBuilder builder : builders )
+        {
+            final Set<ArtifactAssociation> associations = new TreeSet<>( Arrays.asList( builder.getAssociations() ) );
+            if ( !associations.isEmpty() && !associatedVersions.containsKey( associations )
+                && Collections.disjoint( associations, timedOut ) )
+            {
+                associatedVersions.putIfAbsent( associations,
+                                                intersectVersions( associations, resolved::get ) );
+            }
+        }
+        return timedOut;
+    }
+
     private List<String> getSplittedProperties( String commaSeparatedProperties )
     {
         List<String> propertiesList = Collections.emptyList();
@@ -939,30 +1452,6 @@ public class DefaultVersionsHelper
         }
     }
 
-    // This is a data container to hold the result of a Dependency lookup to its ArtifactVersions.
-    private static class PluginPluginUpdatesDetails
-    {
-        private final Plugin plugin;
-
-        private final PluginUpdatesDetails pluginUpdatesDetails;
-
-        PluginPluginUpdatesDetails( final Plugin plugin, final PluginUpdatesDetails pluginUpdatesDetails )
-        {
-            this.plugin = plugin;
-            this.pluginUpdatesDetails = pluginUpdatesDetails;
-        }
-
-        public Plugin getPlugin()
-        {
-            return plugin;
-        }
-
-        public PluginUpdatesDetails getPluginUpdatesDetails()
-        {
-            return pluginUpdatesDetails;
-        }
-    }
-
     // This Callable wraps lookupDependencyUpdates so that it can be run in parallel.
     private class DependencyLookup
         implements Callable<DependencyArtifactVersions>
@@ -985,27 +1474,6 @@ public class DefaultVersionsHelper
         }
     }
 
-    // This Callable wraps lookupPluginUpdates so that it can be run in parallel.
-    private class PluginLookup
-        implements Callable<PluginPluginUpdatesDetails>
-    {
-        private final Plugin plugin;
-
-        private final boolean allowSnapshots;
-
-        PluginLookup( final Plugin plugin, final Boolean allowSnapshots )
-        {
-            this.plugin = plugin;
-            this.allowSnapshots = allowSnapshots;
-        }
-
-        public PluginPluginUpdatesDetails call()
-            throws Exception
-        {
-            return new PluginPluginUpdatesDetails( plugin, lookupPluginUpdates( plugin, allowSnapshots ) );
-        }
-    }
-
     /**
      * Builder class for {@linkplain DefaultVersionsHelper}
      */
@@ -1024,8 +1492,15 @@ public class DefaultVersionsHelper
         private String serverId;
         private String rulesUri;
         private Log log;
+        private RemoteRuleSetCache ruleSetCache;
         private MavenSession mavenSession;
         private MojoExecution mojoExecution;
+        private PersistentVersionsCache versionsCache;
+        private int lookupThreads = LookupExecutor.DEFAULT_THREADS;
+        private boolean adaptiveLookupThreads;
+        private boolean virtualLookupThreads;
+        private long lookupTimeout;
+        private long lookupBudget;
 
         public Builder()
         {
@@ -1111,6 +1586,12 @@ public class DefaultVersionsHelper
             return this;
         }
 
+        public Builder withRuleSetCache( RemoteRuleSetCache ruleSetCache )
+        {
+            this.ruleSetCache = ruleSetCache;
+            return this;
+        }
+
         public Builder withMavenSession( MavenSession mavenSession )
         {
             this.mavenSession = mavenSession;
@@ -1123,6 +1604,42 @@ public class DefaultVersionsHelper
             return this;
         }
 
+        public Builder withVersionsCache( PersistentVersionsCache versionsCache )
+        {
+            this.versionsCache = versionsCache;
+            return this;
+        }
+
+        public Builder withLookupThreads( int lookupThreads )
+        {
+            this.lookupThreads = lookupThreads;
+            return this;
+        }
+
+        public Builder withAdaptiveLookupThreads( boolean adaptiveLookupThreads )
+        {
+            this.adaptiveLookupThreads = adaptiveLookupThreads;
+            return this;
+        }
+
+        public Builder withVirtualLookupThreads( boolean virtualLookupThreads )
+        {
+            this.virtualLookupThreads = virtualLookupThreads;
+            return this;
+        }
+
+        public Builder withLookupTimeout( long lookupTimeout )
+        {
+            this.lookupTimeout = lookupTimeout;
+            return this;
+        }
+
+        public Builder withLookupBudget( long lookupBudget )
+        {
+            this.lookupBudget = lookupBudget;
+            return this;
+        }
+
         /**
          * Builds the constructed {@linkplain DefaultVersionsHelper} object
          * @return constructed {@linkplain DefaultVersionsHelper}
@@ -1149,6 +1666,9 @@ public class DefaultVersionsHelper
                         ? new RuleSet()
                         : isClasspathUri( rulesUri )
                         ? getRulesFromClasspath( rulesUri, log )
+                        : ruleSetCache != null
+                        ? ruleSetCache.getRuleSet( rulesUri, ifModifiedSince -> getRulesViaWagon( rulesUri, log,
+                        serverId, serverId, wagonManager, settings, ifModifiedSince ), log )
                         : getRulesViaWagon( rulesUri, log, serverId, serverId, wagonManager,
                         settings );
             }
@@ -1156,11 +1676,23 @@ public class DefaultVersionsHelper
             {
                 instance.ruleSet = enrichRuleSet( ignoredVersions, instance.ruleSet );
             }
+            instance.ruleIndex = new RuleIndex( instance.ruleSet.getRules() );
+            instance.log = log;
+            instance.compileIgnoredVersions();
             instance.artifactMetadataSource = artifactMetadataSource;
             instance.localRepository = localRepository;
             instance.remoteArtifactRepositories = remoteArtifactRepositories;
             instance.remotePluginRepositories = remotePluginRepositories;
-            instance.log = log;
+            instance.versionsCache = versionsCache;
+            instance.sessionVersionsCache = SessionVersionsCache.getInstance( mavenSession );
+            instance.lookupExecutor = LookupExecutor.getInstance( mavenSession, lookupThreads, adaptiveLookupThreads,
+                                                                  virtualLookupThreads );
+            instance.lookupTimeout = lookupTimeout;
+            instance.lookupBudget = lookupBudget;
+            if ( virtualLookupThreads && !instance.lookupExecutor.isVirtual() && log != null )
+            {
+                log.debug( "Virtual threads are not available, looking up versions on a thread pool" );
+            }
             return instance;
         }
 
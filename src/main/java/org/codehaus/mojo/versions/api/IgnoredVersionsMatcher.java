@@ -0,0 +1,200 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.codehaus.mojo.versions.model.IgnoreVersion;
+
+import static org.codehaus.mojo.versions.api.DefaultVersionsHelper.TYPE_EXACT;
+
+/**
+ * An immutable matcher of the versions to ignore, compiled once from a list of {@link IgnoreVersion}s
+ * and shared by all the artifacts the list applies to: exact versions are looked up in a hash set and
+ * regular expressions are combined into a single alternation, but for those whose meaning would change
+ * within it, which are matched on their own.
+ *
+ * @since 2.13.0
+ */
+final class IgnoredVersionsMatcher
+{
+    private final List<IgnoreVersion> ignoreVersions;
+
+    private final Set<String> exact = new HashSet<>();
+
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    /**
+     * Compiles the given ignored versions, which must all be of a valid type.
+     *
+     * @param ignoreVersions the versions to ignore.
+     * @throws PatternSyntaxException if the regular expression of one of the versions to ignore is invalid.
+     */
+    IgnoredVersionsMatcher( List<IgnoreVersion> ignoreVersions )
+    {
+        this.ignoreVersions = Collections.unmodifiableList( new ArrayList<>( ignoreVersions ) );
+        StringBuilder alternation = new StringBuilder();
+        for ( IgnoreVersion ignoreVersion : ignoreVersions )
+        {
+            if ( TYPE_EXACT.equals( ignoreVersion.getType() ) )
+            {
+                exact.add( ignoreVersion.getVersion() );
+            }
+            else
+            {
+                // compiled on its own first, so that an invalid regex is reported as such and cannot spill over
+                // the others in the alternation
+                Pattern pattern = Pattern.compile( ignoreVersion.getVersion() );
+                if ( isSafeInAlternation( ignoreVersion.getVersion() ) )
+                {
+                    alternation.append( alternation.length() == 0 ? "" : "|" )
+                        .append( "(?:" ).append( ignoreVersion.getVersion() ).append( ')' );
+                }
+                else
+                {
+                    patterns.add( pattern );
+                }
+            }
+        }
+        if ( alternation.length() > 0 )
+        {
+            patterns.add( 0, Pattern.compile( alternation.toString() ) );
+        }
+    }
+
+    /**
+     * Creates a matcher of the ignored versions of this matcher followed by the given ignored versions.
+     *
+     * @param ignoreVersions the additional versions to ignore, which must all be of a valid type.
+     * @return the combined matcher, or this matcher if there are no additional versions to ignore.
+     */
+    IgnoredVersionsMatcher with( List<IgnoreVersion> ignoreVersions )
+    {
+        if ( ignoreVersions.isEmpty() )
+        {
+            return this;
+        }
+        List<IgnoreVersion> combined = new ArrayList<>( this.ignoreVersions );
+        combined.addAll( ignoreVersions );
+        return new IgnoredVersionsMatcher( combined );
+    }
+
+    /**
+     * @return <code>true</code> if no version is ignored.
+     */
+    boolean isEmpty()
+    {
+        return ignoreVersions.isEmpty();
+    }
+
+    /**
+     * @return the versions to ignore, in the order they were given.
+     */
+    List<IgnoreVersion> getIgnoreVersions()
+    {
+        return ignoreVersions;
+    }
+
+    /**
+     * @param version the version to check.
+     * @return <code>true</code> if the version is ignored.
+     */
+    boolean matches( String version )
+    {
+        if ( exact.contains( version ) )
+        {
+            return true;
+        }
+        for ( Pattern pattern : patterns )
+        {
+            if ( pattern.matcher( version ).matches() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first of the versions to ignore which matches the given version; this is slower than
+     * {@link #matches(String)} and only meant for reporting.
+     *
+     * @param version the version to check.
+     * @return the matching version to ignore, or <code>null</code> if the version is not ignored.
+     */
+    IgnoreVersion findMatch( String version )
+    {
+        for ( IgnoreVersion ignoreVersion : ignoreVersions )
+        {
+            if ( TYPE_EXACT.equals( ignoreVersion.getType() )
+                ? version.equals( ignoreVersion.getVersion() )
+                : Pattern.matches( ignoreVersion.getVersion(), version ) )
+            {
+                return ignoreVersion;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tells whether the given valid regular expression keeps its meaning within a group of an alternation: it must
+     * not refer to groups nor name them, as group numbers and names would clash, nor quote up to the end of the
+     * pattern or set flags, which could change the meaning of the closing parenthesis of the group.
+     *
+     * @param regex the regular expression.
+     * @return <code>true</code> if the regular expression may be combined with others.
+     */
+    private static boolean isSafeInAlternation( String regex )
+    {
+        for ( int i = regex.indexOf( '\\' ); i >= 0 && i + 1 < regex.length(); i = regex.indexOf( '\\', i + 2 ) )
+        {
+            char next = regex.charAt( i + 1 );
+            if ( Character.isDigit( next ) || next == 'k' || next == 'Q' )
+            {
+                return false;
+            }
+        }
+        for ( int i = regex.indexOf( "(?" ); i >= 0; i = regex.indexOf( "(?", i + 2 ) )
+        {
+            if ( !isPlainGroup( regex, i + 2 ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param regex the regular expression.
+     * @param index the index following a <code>(?</code> of the regular expression.
+     * @return <code>true</code> if the construct at the given index is a non-capturing group or a lookaround.
+     */
+    private static boolean isPlainGroup( String regex, int index )
+    {
+        return regex.startsWith( ":", index ) || regex.startsWith( "=", index ) || regex.startsWith( "!", index )
+            || regex.startsWith( ">", index ) || regex.startsWith( "<=", index ) || regex.startsWith( "<!", index );
+    }
+}
@@ -0,0 +1,484 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.codehaus.mojo.versions.utils.SessionDataUtils;
+
+/**
+ * The thread pool used to look up versions in parallel, shared by all the goals of the same build.
+ * <p>
+ * The pool uses daemon threads which terminate when idle, so it does not need to be shut down.
+ * Tasks submitted from one of its own threads are run by the submitting thread, so that nested lookups
+ * cannot exhaust the pool.
+ * <p>
+ * In adaptive mode, the number of threads starts at {@link #DEFAULT_THREADS} and is adjusted after every
+ * {@link #SAMPLE_WINDOW} lookups: it grows by one while the median lookup latency stays close to the best
+ * median seen so far, shrinks by one when the median rises, and is halved when lookups fail.
+ * <p>
+ * In virtual thread mode, available from Java 21, every task runs on its own virtual thread and the number
+ * of threads instead limits the lookups in progress per repository, see {@link #acquirePermits(Collection)}.
+ * On older runtimes the pool is used instead.
+ *
+ * @since 2.13.0
+ */
+public class LookupExecutor
+{
+    /**
+     * The default number of lookup threads.
+     */
+    public static final int DEFAULT_THREADS = 5;
+
+    private static final String SESSION_KEY = LookupExecutor.class.getName();
+
+    private static final long KEEP_ALIVE_SECONDS = 10;
+
+    private static final int SAMPLE_WINDOW = 16;
+
+    private static final double LATENCY_TOLERANCE = 1.5;
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ThreadLocal<Boolean> worker = ThreadLocal.withInitial( () -> Boolean.FALSE );
+
+    private final ThreadPoolExecutor executor;
+
+    private final int maxThreads;
+
+    private final boolean adaptive;
+
+    /**
+     * The virtual thread per task executor, or {@code null} if the pool is used.
+     */
+    private final ExecutorService virtualExecutor;
+
+    private final ConcurrentMap<String, Semaphore> repositoryPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Latencies, in nanoseconds, of the successful lookups of the current window. Guarded by {@code this}.
+     */
+    private final long[] samples = new long[SAMPLE_WINDOW];
+
+    private int sampleCount;
+
+    private int errorCount;
+
+    private long bestMedian = Long.MAX_VALUE;
+
+    /**
+     * Creates a new executor using a thread pool.
+     *
+     * @param threads the number of threads, or the maximum number of threads in adaptive mode.
+     * @param adaptive whether the number of threads is adapted to the observed lookup latency.
+     */
+    public LookupExecutor( int threads, boolean adaptive )
+    {
+        this( threads, adaptive, false );
+    }
+
+    /**
+     * Creates a new executor.
+     *
+     * @param threads the number of threads, or the maximum number of threads in adaptive mode, or the maximum
+     *                number of lookups per repository in virtual thread mode.
+     * @param adaptive whether the number of threads of the pool is adapted to the observed lookup latency.
+     * @param virtual whether to run the tasks on virtual threads, if the runtime supports them.
+     */
+    public LookupExecutor( int threads, boolean adaptive, boolean virtual )
+    {
+        this.maxThreads = Math.max( 1, threads );
+        this.adaptive = adaptive;
+        this.virtualExecutor = virtual ? newVirtualThreadPerTaskExecutor() : null;
+        int initialThreads = adaptive ? Math.min( DEFAULT_THREADS, maxThreads ) : maxThreads;
+        ThreadFactory threadFactory = r ->
+        {
+            Thread thread = new Thread( () ->
+            {
+                worker.set( Boolean.TRUE );
+                r.run();
+            }, "versions-lookup-" + THREAD_COUNT.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor( initialThreads, initialThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<>(), threadFactory );
+        this.executor.allowCoreThreadTimeOut( true );
+    }
+
+    /**
+     * Returns the executor attached to the given session, creating it if necessary. Only the configuration
+     * of the first goal creating the executor takes effect.
+     *
+     * @param session the maven session, may be {@code null}, in which case an unshared executor is returned.
+     * @param threads the number of threads, or the maximum number of threads in adaptive mode, or the maximum
+     *                number of lookups per repository in virtual thread mode.
+     * @param adaptive whether the number of threads of the pool is adapted to the observed lookup latency.
+     * @param virtual whether to run the tasks on virtual threads, if the runtime supports them.
+     * @return the executor for the session.
+     */
+    public static LookupExecutor getInstance( MavenSession session, int threads, boolean adaptive, boolean virtual )
+    {
+        return SessionDataUtils.getOrCreate( session, SESSION_KEY, LookupExecutor.class,
+                                             () -> new LookupExecutor( threads, adaptive, virtual ) );
+    }
+
+    /**
+     * Creates an executor running each task on a new virtual thread. The method is looked up reflectively,
+     * since virtual threads are only available from Java 21.
+     *
+     * @return the executor, or {@code null} if the runtime does not support virtual threads.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor()
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ).invoke( null );
+        }
+        catch ( ReflectiveOperationException | RuntimeException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return {@code true} if the tasks run on virtual threads.
+     */
+    public boolean isVirtual()
+    {
+        return virtualExecutor != null;
+    }
+
+    /**
+     * Executes the given tasks, returning their futures when all of them are complete.
+     *
+     * @param tasks the tasks to execute.
+     * @param <T> the type of the results of the tasks.
+     * @return the futures of the tasks, in the same order.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public <T> List<Future<T>> invokeAll( Collection<? extends Callable<T>> tasks )
+        throws InterruptedException
+    {
+        return invokeAll( tasks, 0, 0 );
+    }
+
+    /**
+     * Executes the given tasks, returning their futures when all of them are complete or cancelled.
+     * See {@link #invokeAll(Collection, ObjIntConsumer, long, long)} for the meaning of the timeouts.
+     *
+     * @param tasks the tasks to execute.
+     * @param timeout the time, in milliseconds, a task may run before it is cancelled, or {@code 0} for no limit.
+     * @param budget the time, in milliseconds, after which all the remaining tasks are cancelled,
+     *               or {@code 0} for no limit.
+     * @param <T> the type of the results of the tasks.
+     * @return the futures of the tasks, in the same order.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public <T> List<Future<T>> invokeAll( Collection<? extends Callable<T>> tasks, long timeout, long budget )
+        throws InterruptedException
+    {
+        return invokeAll( tasks, ( future, index ) ->
+        {
+        }, timeout, budget );
+    }
+
+    /**
+     * Executes the given tasks, passing the future of each task, along with the index of the task, to the given
+     * consumer as soon as the task is complete, and returning all the futures when all of them are complete.
+     * The consumer is invoked by the calling thread, in the order in which the tasks complete.
+     * <p>
+     * A task which has been running for longer than the timeout, or which is not complete when the budget of
+     * the whole call is exhausted, is cancelled: its future is then passed to the consumer as a cancelled future.
+     * A task still waiting for a thread is cancelled as well once none of the tasks of the call has started
+     * for longer than the timeout, e.g. because all the threads are stuck on lookups ignoring the cancellation.
+     * Tasks run by one of the threads of the pool itself are run without time limits.
+     *
+     * @param tasks the tasks to execute.
+     * @param onCompletion the consumer of the futures of the completed tasks.
+     * @param timeout the time, in milliseconds, a task may run before it is cancelled, or {@code 0} for no limit.
+     * @param budget the time, in milliseconds, after which all the remaining tasks are cancelled,
+     *               or {@code 0} for no limit.
+     * @param <T> the type of the results of the tasks.
+     * @return the futures of the tasks, in the same order as the tasks.
+     * @throws InterruptedException if interrupted while waiting, in which case the remaining tasks are cancelled.
+     */
+    public <T> List<Future<T>> invokeAll( Collection<? extends Callable<T>> tasks,
+                                          ObjIntConsumer<? super Future<T>> onCompletion, long timeout, long budget )
+        throws InterruptedException
+    {
+        List<Future<T>> futures = new ArrayList<>( tasks.size() );
+        if ( virtualExecutor == null && worker.get() )
+        {
+            for ( Callable<T> task : tasks )
+            {
+                FutureTask<T> future = new FutureTask<>( task );
+                future.run();
+                futures.add( future );
+                onCompletion.accept( future, futures.size() - 1 );
+            }
+            return futures;
+        }
+
+        final long start = System.nanoTime();
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos( timeout );
+        final long budgetNanos = TimeUnit.MILLISECONDS.toNanos( budget );
+        final AtomicLongArray started = new AtomicLongArray( tasks.size() );
+        final AtomicLong lastStarted = new AtomicLong( start );
+        final Map<Future<T>, Integer> pending = new IdentityHashMap<>( tasks.size() );
+        CompletionService<T> completionService =
+            new ExecutorCompletionService<>( virtualExecutor != null ? virtualExecutor : executor );
+        try
+        {
+            for ( Callable<T> task : tasks )
+            {
+                final int index = futures.size();
+                started.set( index, NOT_STARTED );
+                Future<T> future = completionService.submit( () ->
+                {
+                    long now = System.nanoTime();
+                    started.set( index, now );
+                    lastStarted.accumulateAndGet( now, Math::max );
+                    return task.call();
+                } );
+                futures.add( future );
+                pending.put( future, index );
+            }
+            while ( !pending.isEmpty() )
+            {
+                // cancelled tasks are only queued for completion once they get a thread, so they are
+                // reported right away instead, and ignored when they turn up in the queue
+                List<Future<T>> expired = new ArrayList<>();
+                long wait = findExpired( pending, started, start, lastStarted.get(), timeoutNanos, budgetNanos,
+                                         expired );
+                for ( Future<T> future : expired )
+                {
+                    future.cancel( true );
+                    onCompletion.accept( future, pending.remove( future ) );
+                }
+                if ( pending.isEmpty() )
+                {
+                    break;
+                }
+
+                Future<T> future = wait == Long.MAX_VALUE
+                    ? completionService.take()
+                    : completionService.poll( wait, TimeUnit.NANOSECONDS );
+                Integer index = future != null ? pending.remove( future ) : null;
+                if ( index != null )
+                {
+                    onCompletion.accept( future, index );
+                }
+            }
+        }
+        catch ( InterruptedException | RuntimeException | Error e )
+        {
+            futures.forEach( future -> future.cancel( true ) );
+            throw e;
+        }
+        return futures;
+    }
+
+    /**
+     * Finds the pending tasks which exceeded their timeout or the budget. The timeout of the tasks still waiting
+     * for a thread runs from the time the last task was started, so that they do not wait forever for threads
+     * stuck on lookups which ignore their cancellation.
+     *
+     * @return the time, in nanoseconds, until the next task may expire,
+     *         or {@link Long#MAX_VALUE} if there are no time limits.
+     */
+    private static <T> long findExpired( Map<Future<T>, Integer> pending, AtomicLongArray started, long start,
+                                         long lastStarted, long timeoutNanos, long budgetNanos,
+                                         List<Future<T>> expired )
+    {
+        final long now = System.nanoTime();
+        long wait = Long.MAX_VALUE;
+        if ( budgetNanos > 0 )
+        {
+            wait = budgetNanos - ( now - start );
+            if ( wait <= 0 )
+            {
+                expired.addAll( pending.keySet() );
+                return Long.MAX_VALUE;
+            }
+        }
+        if ( timeoutNanos > 0 )
+        {
+            for ( Map.Entry<Future<T>, Integer> entry : pending.entrySet() )
+            {
+                long taskStart = started.get( entry.getValue() );
+                long remaining = timeoutNanos - ( now - ( taskStart == NOT_STARTED ? lastStarted : taskStart ) );
+                if ( remaining <= 0 )
+                {
+                    expired.add( entry.getKey() );
+                }
+                else
+                {
+                    wait = Math.min( wait, remaining );
+                }
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * In virtual thread mode, waits until a lookup may be started in each of the given repositories.
+     * The permits must be released with {@link #releasePermits(List)} once the lookup has completed.
+     *
+     * @param repositories the repositories to be consulted by the lookup.
+     * @return the acquired permits, empty if the pool is used.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public List<Semaphore> acquirePermits( Collection<ArtifactRepository> repositories )
+        throws InterruptedException
+    {
+        if ( virtualExecutor == null || repositories == null || repositories.isEmpty() )
+        {
+            return Collections.emptyList();
+        }
+
+        // always acquired in the same order, so that lookups consulting the same repositories cannot deadlock
+        List<Semaphore> acquired = new ArrayList<>( repositories.size() );
+        try
+        {
+            for ( String url : repositories.stream()
+                    .map( r -> String.valueOf( r.getUrl() ) )
+                    .collect( Collectors.toCollection( TreeSet::new ) ) )
+            {
+                Semaphore semaphore = repositoryPermits.computeIfAbsent( url, k -> new Semaphore( maxThreads ) );
+                semaphore.acquire();
+                acquired.add( semaphore );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            releasePermits( acquired );
+            throw e;
+        }
+        return acquired;
+    }
+
+    /**
+     * Releases the permits acquired by {@link #acquirePermits(Collection)}.
+     *
+     * @param acquired the permits to release.
+     */
+    public void releasePermits( List<Semaphore> acquired )
+    {
+        acquired.forEach( Semaphore::release );
+    }
+
+    /**
+     * Records the outcome of a lookup, adapting the number of threads in adaptive mode.
+     *
+     * @param nanos the latency of the lookup, in nanoseconds.
+     * @param failed whether the lookup failed.
+     */
+    public synchronized void recordLookup( long nanos, boolean failed )
+    {
+        if ( !adaptive )
+        {
+            return;
+        }
+        if ( failed )
+        {
+            errorCount++;
+        }
+        else
+        {
+            samples[sampleCount++] = nanos;
+        }
+        if ( sampleCount + errorCount < SAMPLE_WINDOW )
+        {
+            return;
+        }
+
+        int threads = getThreads();
+        if ( errorCount > 0 )
+        {
+            threads = Math.max( 1, threads / 2 );
+        }
+        else
+        {
+            long[] sorted = Arrays.copyOf( samples, sampleCount );
+            Arrays.sort( sorted );
+            long median = sorted[sampleCount / 2];
+            bestMedian = Math.min( bestMedian, median );
+            threads = median <= bestMedian * LATENCY_TOLERANCE
+                ? Math.min( maxThreads, threads + 1 )
+                : Math.max( 1, threads - 1 );
+        }
+        setThreads( threads );
+        sampleCount = 0;
+        errorCount = 0;
+    }
+
+    /**
+     * @return the current number of lookup threads.
+     */
+    public int getThreads()
+    {
+        return executor.getMaximumPoolSize();
+    }
+
+    private void setThreads( int threads )
+    {
+        if ( threads > executor.getMaximumPoolSize() )
+        {
+            executor.setMaximumPoolSize( threads );
+            executor.setCorePoolSize( threads );
+        }
+        else
+        {
+            executor.setCorePoolSize( threads );
+            executor.setMaximumPoolSize( threads );
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * A persistent cache of the versions available for an artifact. Entries are keyed by the
+ * {@code groupId:artifactId} of the artifact together with the set of repositories that were consulted
+ * and hold the raw list of versions found in the repository metadata.
+ * <p>
+ * The cache is read from its file on first use and written back by {@link #save()}, merged with the entries
+ * written to the file meanwhile, e.g. by other builds, so that no entry is lost whichever build or project
+ * writes last. Entries older than
+ * the configured time to live are ignored and, once the configured number of entries is exceeded,
+ * the least recently used entries are evicted.
+ * <p>
+ * Artifacts for which no versions were found, such as unpublished or relocated artifacts, are cached as
+ * negative entries, i.e. entries without any versions. Negative entries are kept in the same file, but expire
+ * after their own, usually shorter, time to live, so that newly published artifacts are noticed sooner.
+ *
+ * @since 2.13.0
+ */
+public class PersistentVersionsCache
+{
+    private static final int MAGIC = 0x56435348;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final File file;
+
+    private final long timeToLive;
+
+    private final long negativeTimeToLive;
+
+    private final int maxEntries;
+
+    private final boolean refresh;
+
+    /**
+     * Entries in least recently used order. Guarded by {@code this}.
+     */
+    private final Map<String, Entry> entries;
+
+    private boolean loaded;
+
+    private boolean dirty;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong negativeHits = new AtomicLong();
+
+    /**
+     * Creates a new cache backed by the given file, where negative entries expire like any other entry.
+     *
+     * @param file the file the cache is persisted to.
+     * @param timeToLive the time, in milliseconds, after which an entry is considered stale.
+     * @param maxEntries the maximum number of entries to keep.
+     * @param refresh if {@code true}, existing entries are never returned, but are replaced by fresh lookups.
+     */
+    public PersistentVersionsCache( File file, long timeToLive, int maxEntries, boolean refresh )
+    {
+        this( file, timeToLive, timeToLive, maxEntries, refresh );
+    }
+
+    /**
+     * Creates a new cache backed by the given file.
+     *
+     * @param file the file the cache is persisted to.
+     * @param timeToLive the time, in milliseconds, after which an entry is considered stale.
+     * @param negativeTimeToLive the time, in milliseconds, after which an entry without any versions
+     *                           is considered stale.
+     * @param maxEntries the maximum number of entries to keep.
+     * @param refresh if {@code true}, existing entries are never returned, but are replaced by fresh lookups.
+     */
+    public PersistentVersionsCache( File file, long timeToLive, long negativeTimeToLive, int maxEntries,
+                                    boolean refresh )
+    {
+        this.file = file;
+        this.timeToLive = timeToLive;
+        this.negativeTimeToLive = negativeTimeToLive;
+        this.maxEntries = maxEntries;
+        this.refresh = refresh;
+        this.entries = new LinkedHashMap<String, Entry>( INITIAL_CAPACITY, LOAD_FACTOR, true )
+        {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Entry> eldest )
+            {
+                return size() > PersistentVersionsCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Creates the cache key for the given artifact and repositories.
+     *
+     * @param artifact the artifact being looked up.
+     * @param repositories the remote repositories being consulted.
+     * @return the cache key.
+     */
+    public static String key( Artifact artifact, Collection<ArtifactRepository> repositories )
+    {
+        StringBuilder key = new StringBuilder( artifact.getGroupId() ).append( ':' )
+                .append( artifact.getArtifactId() );
+        if ( repositories != null )
+        {
+            repositories.stream()
+                    .map( r -> r.getId() + '=' + r.getUrl() )
+                    .sorted()
+                    .distinct()
+                    .forEach( r -> key.append( '|' ).append( r ) );
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the cached versions for the given key.
+     *
+     * @param key the cache key, see {@link #key(Artifact, Collection)}.
+     * @return the cached versions, which are empty for a negative entry, or {@code null} if there is
+     *         no valid entry for the key.
+     */
+    public synchronized List<String> get( String key )
+    {
+        load();
+        Entry entry = refresh ? null : entries.get( key );
+        if ( entry == null || isExpired( entry ) )
+        {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        if ( entry.versions.isEmpty() )
+        {
+            negativeHits.incrementAndGet();
+        }
+        return entry.versions;
+    }
+
+    /**
+     * Stores the versions found for the given key.
+     *
+     * @param key the cache key, see {@link #key(Artifact, Collection)}.
+     * @param versions the versions found, empty to record that the artifact could not be found.
+     */
+    public synchronized void put( String key, List<String> versions )
+    {
+        load();
+        entries.put( key, new Entry( System.currentTimeMillis(),
+                                     Collections.unmodifiableList( new ArrayList<>( versions ) ) ) );
+        dirty = true;
+    }
+
+    /**
+     * Writes the cache back to its file if it has been modified since it was read, keeping the entries written
+     * to the file meanwhile unless they are older than those of the cache.
+     *
+     * @throws IOException if the file could not be written.
+     */
+    public synchronized void save()
+        throws IOException
+    {
+        if ( !dirty )
+        {
+            return;
+        }
+        Path path = file.toPath();
+        Files.createDirectories( path.toAbsolutePath().getParent() );
+        Path temp = Files.createTempFile( path.toAbsolutePath().getParent(), file.getName(), ".tmp" );
+        try
+        {
+            try ( DataOutputStream out =
+                      new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temp ) ) ) )
+            {
+                out.writeInt( MAGIC );
+                out.writeInt( FORMAT_VERSION );
+                // the entries of the file first, so that they are the first evicted when the cache is full
+                Map<String, Entry> merged = read();
+                for ( Map.Entry<String, Entry> e : entries.entrySet() )
+                {
+                    Entry written = merged.get( e.getKey() );
+                    if ( written == null || written.timestamp <= e.getValue().timestamp )
+                    {
+                        merged.remove( e.getKey() );
+                        merged.put( e.getKey(), e.getValue() );
+                    }
+                }
+                List<Map.Entry<String, Entry>> valid = new ArrayList<>( merged.size() );
+                for ( Map.Entry<String, Entry> e : merged.entrySet() )
+                {
+                    if ( !isExpired( e.getValue() ) )
+                    {
+                        valid.add( e );
+                    }
+                }
+                valid = valid.subList( Math.max( 0, valid.size() - maxEntries ), valid.size() );
+                out.writeInt( valid.size() );
+                for ( Map.Entry<String, Entry> e : valid )
+                {
+                    out.writeUTF( e.getKey() );
+                    out.writeLong( e.getValue().timestamp );
+                    out.writeInt( e.getValue().versions.size() );
+                    for ( String version : e.getValue().versions )
+                    {
+                        out.writeUTF( version );
+                    }
+                }
+            }
+            try
+            {
+                Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING );
+            }
+            dirty = false;
+        }
+        finally
+        {
+            Files.deleteIfExists( temp );
+        }
+    }
+
+    /**
+     * Called once a project of the build is done with the cache: the cache is written back to its file, if it was
+     * modified, and its statistics logged at debug level, or reported once the last project of the build is done.
+     *
+     * @param log the log to report to.
+     * @param lastProject whether the project is the last one of the build.
+     */
+    public void save( Log log, boolean lastProject )
+    {
+        try
+        {
+            save();
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Unable to write the versions cache to " + file + ": " + e.getMessage() );
+        }
+        if ( lastProject )
+        {
+            log.info( "Versions cache: " + getStatistics() );
+        }
+        else if ( log.isDebugEnabled() )
+        {
+            log.debug( "Versions cache: " + getStatistics() );
+        }
+    }
+
+    private String getStatistics()
+    {
+        return getHits() + " hits (" + getNegativeHits() + " negative), " + getMisses() + " misses";
+    }
+
+    /**
+     * @return the number of lookups answered from the cache.
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that could not be answered from the cache.
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of lookups answered from a negative entry, also counted as {@linkplain #getHits() hits}.
+     */
+    public long getNegativeHits()
+    {
+        return negativeHits.get();
+    }
+
+    private boolean isExpired( Entry entry )
+    {
+        return System.currentTimeMillis() - entry.timestamp
+            > ( entry.versions.isEmpty() ? negativeTimeToLive : timeToLive );
+    }
+
+    /**
+     * Reads the cache file, if not yet read. An unreadable or incompatible file is treated as an empty cache.
+     */
+    private void load()
+    {
+        if ( loaded )
+        {
+            return;
+        }
+        loaded = true;
+        entries.putAll( read() );
+    }
+
+    /**
+     * Reads the entries of the cache file.
+     *
+     * @return the entries of the file, in least recently used order, empty if the file is missing, unreadable
+     *         or incompatible.
+     */
+    private Map<String, Entry> read()
+    {
+        Map<String, Entry> read = new LinkedHashMap<>();
+        try ( DataInputStream in =
+                  new DataInputStream( new BufferedInputStream( Files.newInputStream( file.toPath() ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION )
+            {
+                return read;
+            }
+            for ( int count = in.readInt(); count > 0; count-- )
+            {
+                String key = in.readUTF();
+                long timestamp = in.readLong();
+                int size = in.readInt();
+                List<String> versions = new ArrayList<>( size );
+                for ( int i = 0; i < size; i++ )
+                {
+                    versions.add( in.readUTF() );
+                }
+                read.put( key, new Entry( timestamp, Collections.unmodifiableList( versions ) ) );
+            }
+            return read;
+        }
+        catch ( NoSuchFileException e )
+        {
+            // nothing cached yet
+            return read;
+        }
+        catch ( IOException e )
+        {
+            // a corrupt cache is as good as an empty one, it will be overwritten on the next save
+            read.clear();
+            return read;
+        }
+    }
+
+    private static final class Entry
+    {
+        private final long timestamp;
+
+        private final List<String> versions;
+
+        Entry( long timestamp, List<String> versions )
+        {
+            this.timestamp = timestamp;
+            this.versions = versions;
+        }
+    }
+}
@@ -63,6 +63,7 @@ import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.versions.rewriting.ModifiedPomXMLEventReader;
 import org.codehaus.mojo.versions.utils.DependencyBuilder;
 import org.codehaus.mojo.versions.utils.RegexUtils;
+import org.codehaus.mojo.versions.utils.VersionRangeUtils;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
 import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluator;
 import org.codehaus.plexus.util.IOUtil;
@@ -847,10 +848,10 @@ public class PomHelper
     private static VersionRange createVersionRange( String versionOrRange )
         throws InvalidVersionSpecificationException
     {
-        VersionRange versionRange = VersionRange.createFromVersionSpec( versionOrRange );
+        VersionRange versionRange = VersionRangeUtils.createFromVersionSpec( versionOrRange );
         if ( versionRange.getRecommendedVersion() != null )
         {
-            versionRange = VersionRange.createFromVersionSpec( "[" + versionOrRange + "]" );
+            versionRange = VersionRangeUtils.createFromVersionSpec( "[" + versionOrRange + "]" );
         }
         return versionRange;
     }
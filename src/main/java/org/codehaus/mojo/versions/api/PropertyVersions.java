@@ -29,6 +29,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -42,6 +43,7 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.mojo.versions.Property;
 import org.codehaus.mojo.versions.ordering.InvalidSegmentException;
 import org.codehaus.mojo.versions.ordering.VersionComparator;
+import org.codehaus.mojo.versions.utils.VersionRangeUtils;
 
 import static java.util.Optional.empty;
 
@@ -63,24 +65,112 @@ public class PropertyVersions
     private final VersionsHelper helper;
 
     /**
-     * The available versions.
+     * The available versions, sorted, or {@code null} if the rules of the associations do not agree on their order.
      *
      * @since 1.0-beta-1
      */
-    private final SortedSet<ArtifactVersion> versions;
+    private final ArtifactVersion[] versions;
+
+    /**
+     * The available versions which are not snapshots, sorted, or {@code null} if the rules of the associations
+     * do not agree on their order.
+     *
+     * @since 2.13.0
+     */
+    private final ArtifactVersion[] releases;
+
+    /**
+     * Why the rules of the associations do not agree on the order of the {@link #versions}, if they do not.
+     *
+     * @since 2.13.0
+     */
+    private final IllegalStateException versionsFailure;
+
+    /**
+     * Why the rules of the associations do not agree on the order of the {@link #releases}, if they do not.
+     *
+     * @since 2.13.0
+     */
+    private final IllegalStateException releasesFailure;
 
     private final PropertyVersions.PropertyVersionComparator comparator;
 
+    /**
+     * Whether the versions of the associations could not be looked up in time.
+     *
+     * @since 2.13.0
+     */
+    private final boolean unknown;
+
     PropertyVersions( String profileId, String name, VersionsHelper helper, Set<ArtifactAssociation> associations )
         throws ArtifactMetadataRetrievalException
+    {
+        this( profileId, name, helper, associations, false );
+    }
+
+    private PropertyVersions( String profileId, String name, VersionsHelper helper,
+                              Set<ArtifactAssociation> associations, boolean unknown )
+        throws ArtifactMetadataRetrievalException
     {
         this.profileId = profileId;
         this.name = name;
         this.helper = helper;
         this.associations = new TreeSet<>( associations );
         this.comparator = new PropertyVersionComparator();
-        this.versions = resolveAssociatedVersions( helper, associations, comparator );
+        this.unknown = unknown;
+        final SortedSet<ArtifactVersion> resolved = unknown ? Collections.emptySortedSet()
+            : resolveAssociatedVersions( helper, associations, comparator );
+        ArtifactVersion[] sorted = null;
+        IllegalStateException failure = null;
+        try
+        {
+            sorted = asArtifactVersionArray( resolved );
+        }
+        catch ( IllegalStateException e )
+        {
+            failure = e;
+        }
+        this.versions = sorted;
+        this.versionsFailure = failure;
+        sorted = null;
+        failure = null;
+        try
+        {
+            sorted = asArtifactVersionArray( resolved.stream()
+                .filter( candidate -> !ArtifactUtils.isSnapshot( candidate.toString() ) )
+                .collect( Collectors.toList() ) );
+        }
+        catch ( IllegalStateException e )
+        {
+            failure = e;
+        }
+        this.releases = sorted;
+        this.releasesFailure = failure;
+    }
 
+    /**
+     * Creates a {@link PropertyVersions} instance for a property the versions of whose associations are unknown,
+     * because their lookup did not complete in time.
+     *
+     * @param profileId The profileId.
+     * @param name The property name.
+     * @param helper The helper.
+     * @param associations The associations of the property.
+     * @return an instance without any available versions, flagged as {@linkplain #isUnknown() unknown}.
+     * @since 2.13.0
+     */
+    static PropertyVersions unknown( String profileId, String name, VersionsHelper helper,
+                                     Set<ArtifactAssociation> associations )
+    {
+        try
+        {
+            return new PropertyVersions( profileId, name, helper, associations, true );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            // nothing is looked up
+            throw new IllegalStateException( e );
+        }
     }
 
     private static SortedSet<ArtifactVersion> resolveAssociatedVersions( VersionsHelper helper,
@@ -88,45 +178,8 @@ public class PropertyVersions
                                                                          VersionComparator versionComparator )
         throws ArtifactMetadataRetrievalException
     {
-        SortedSet<ArtifactVersion> versions = null;
-        for ( ArtifactAssociation association : associations )
-        {
-            final ArtifactVersions associatedVersions =
-                helper.lookupArtifactVersions( association.getArtifact(), association.isUsePluginRepositories() );
-            if ( versions != null )
-            {
-                final ArtifactVersion[] artifactVersions = associatedVersions.getVersions( true );
-                // since ArtifactVersion does not override equals, we have to do this the hard way
-                // result.retainAll( Arrays.asList( artifactVersions ) );
-                Iterator<ArtifactVersion> j = versions.iterator();
-                while ( j.hasNext() )
-                {
-                    boolean contains = false;
-                    ArtifactVersion version = j.next();
-                    for ( ArtifactVersion artifactVersion : artifactVersions )
-                    {
-                        if ( version.compareTo( artifactVersion ) == 0 )
-                        {
-                            contains = true;
-                            break;
-                        }
-                    }
-                    if ( !contains )
-                    {
-                        j.remove();
-                    }
-                }
-            }
-            else
-            {
-                versions = new TreeSet<>( versionComparator );
-                versions.addAll( Arrays.asList( associatedVersions.getVersions( true ) ) );
-            }
-        }
-        if ( versions == null )
-        {
-            versions = new TreeSet<>( versionComparator );
-        }
+        SortedSet<ArtifactVersion> versions = new TreeSet<>( versionComparator );
+        versions.addAll( helper.lookupAssociatedVersions( associations ) );
         return Collections.unmodifiableSortedSet( versions );
     }
 
@@ -141,6 +194,18 @@ public class PropertyVersions
         return comparator;
     }
 
+    /**
+     * Returns whether the available versions are unknown, because the lookup of the versions of the associations
+     * did not complete in time.
+     *
+     * @return <code>true</code> if the available versions are unknown.
+     * @since 2.13.0
+     */
+    public boolean isUnknown()
+    {
+        return unknown;
+    }
+
     public ArtifactAssociation[] getAssociations()
     {
         return associations.toArray( new ArtifactAssociation[0] );
@@ -230,26 +295,25 @@ public class PropertyVersions
      * @param includeSnapshots Whether to include snapshot versions in our search.
      * @return The (possibly empty) array of versions.
      */
-    public synchronized ArtifactVersion[] getVersions( boolean includeSnapshots )
+    public ArtifactVersion[] getVersions( boolean includeSnapshots )
     {
-        Set<ArtifactVersion> result;
-        if ( includeSnapshots )
-        {
-            result = versions;
-        }
-        else
+        return getSortedVersions( includeSnapshots ).clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ArtifactVersion[] getSortedVersions( boolean includeSnapshots )
+    {
+        // the order of the versions was checked once, when they were resolved; the failure is thrown anew so that
+        // it is reported where the versions are used, and not shared by the threads using them
+        IllegalStateException failure = includeSnapshots ? versionsFailure : releasesFailure;
+        if ( failure != null )
         {
-            result = new TreeSet<>( getVersionComparator() );
-            for ( ArtifactVersion candidate : versions )
-            {
-                if ( ArtifactUtils.isSnapshot( candidate.toString() ) )
-                {
-                    continue;
-                }
-                result.add( candidate );
-            }
+            throw new IllegalStateException( failure.getMessage(), failure );
         }
-        return asArtifactVersionArray( result );
+        return includeSnapshots ? versions : releases;
     }
 
     private ArtifactVersion[] asArtifactVersionArray( Collection<ArtifactVersion> result )
@@ -343,7 +407,7 @@ public class PropertyVersions
         helper.getLog().debug( "Property ${" + property.getName() + "}: Set of valid available versions is "
                                    + Arrays.asList( getVersions( includeSnapshots ) ) );
         VersionRange range = property.getVersion() != null
-                ? VersionRange.createFromVersionSpec( property.getVersion() ) : null;
+                ? VersionRangeUtils.createFromVersionSpec( property.getVersion() ) : null;
         helper.getLog().debug( "Property ${" + property.getName() + "}: Restricting results to " + range );
 
         ArtifactVersion lowerBound = helper.createArtifactVersion( currentVersion );
@@ -96,6 +96,15 @@ class PropertyVersionsBuilder
         return new PropertyVersions( profileId, name, helper, associations );
     }
 
+    /**
+     * @return the versions of the property, flagged as unknown, since the versions of its associations
+     *         could not be looked up in time.
+     */
+    public PropertyVersions newUnknownPropertyVersions()
+    {
+        return PropertyVersions.unknown( profileId, name, helper, associations );
+    }
+
     public String getName()
     {
         return name;
@@ -0,0 +1,289 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.mojo.versions.model.RuleSet;
+import org.codehaus.mojo.versions.model.io.xpp3.RuleXpp3Reader;
+import org.codehaus.mojo.versions.utils.SessionDataUtils;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * A cache of the rule sets loaded from remote URIs, so that a remote rule set is fetched at most once per build
+ * and, across builds, only when the copy cached on disk is stale and the remote rule set has been modified.
+ * <p>
+ * Each rule set is stored, as fetched, in its own file of the cache directory, along with the time it was
+ * fetched, and parsed again when read. A cached copy younger than the time to live is used without contacting
+ * the server; an older one is revalidated with a conditional request, i.e. the rule set is only downloaded again
+ * if it was modified since.
+ *
+ * @since 2.13.0
+ */
+public class RemoteRuleSetCache
+{
+    private static final int MAGIC = 0x56525348;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final File directory;
+
+    private final long timeToLive;
+
+    /**
+     * The rule sets already loaded during this build, keyed by URI.
+     */
+    private final Map<String, RuleSet> loaded = new ConcurrentHashMap<>();
+
+    /**
+     * Fetches a remote rule set.
+     */
+    @FunctionalInterface
+    public interface RuleSetFetcher
+    {
+        /**
+         * @param ifModifiedSince the time, in milliseconds since the epoch, the cached copy was fetched,
+         *                        or <code>0</code> if there is no cached copy.
+         * @return the XML of the rule set, or <code>null</code> if it has not been modified since
+         * <code>ifModifiedSince</code>.
+         * @throws MojoExecutionException if the rule set could not be fetched.
+         */
+        byte[] fetch( long ifModifiedSince )
+            throws MojoExecutionException;
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param directory the directory the rule sets are persisted to.
+     * @param timeToLive the time, in milliseconds, after which a cached rule set is revalidated.
+     */
+    public RemoteRuleSetCache( File directory, long timeToLive )
+    {
+        this.directory = directory;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the cache for the given directory shared by all the modules of the build, creating it
+     * if necessary.
+     *
+     * @param session the maven session, may be {@code null}, in which case an unshared cache is returned.
+     * @param directory the directory the rule sets are persisted to.
+     * @param timeToLive the time, in milliseconds, after which a cached rule set is revalidated.
+     * @return the cache.
+     */
+    public static RemoteRuleSetCache getInstance( MavenSession session, File directory, long timeToLive )
+    {
+        return SessionDataUtils.getOrCreate( session, RemoteRuleSetCache.class.getName() + ':'
+                                                 + directory.getAbsolutePath(), RemoteRuleSetCache.class,
+                                             () -> new RemoteRuleSetCache( directory, timeToLive ) );
+    }
+
+    /**
+     * Returns the rule set of the given URI, fetching it only if it has not been loaded during this build
+     * and the cached copy, if any, is stale.
+     *
+     * @param uri the URI of the rule set.
+     * @param fetcher fetches the rule set.
+     * @param log the log to report to.
+     * @return the rule set.
+     * @throws MojoExecutionException if the rule set could not be fetched and there is no cached copy.
+     */
+    public RuleSet getRuleSet( String uri, RuleSetFetcher fetcher, Log log )
+        throws MojoExecutionException
+    {
+        RuleSet ruleSet = loaded.get( uri );
+        if ( ruleSet == null )
+        {
+            // concurrent modules may both load the rule set, which is harmless
+            ruleSet = load( uri, fetcher, log );
+            loaded.putIfAbsent( uri, ruleSet );
+        }
+        return ruleSet;
+    }
+
+    private RuleSet load( String uri, RuleSetFetcher fetcher, Log log )
+        throws MojoExecutionException
+    {
+        final Path path = new File( directory, fileName( uri ) ).toPath();
+        final Entry cached = read( path, uri );
+        final long now = System.currentTimeMillis();
+        if ( cached != null && now - cached.fetched <= timeToLive )
+        {
+            log.debug( "Using the rules of " + uri + " cached on disk" );
+            return cached.ruleSet;
+        }
+
+        Entry fetched;
+        try
+        {
+            byte[] xml = fetcher.fetch( cached != null ? cached.fetched : 0L );
+            fetched = xml != null ? new Entry( now, xml, parse( uri, xml ) ) : null;
+        }
+        catch ( MojoExecutionException e )
+        {
+            if ( cached == null )
+            {
+                throw e;
+            }
+            log.warn( "Could not revalidate the rules of " + uri + ", using the copy cached on disk: "
+                          + e.getMessage() );
+            return cached.ruleSet;
+        }
+
+        if ( fetched == null )
+        {
+            log.debug( "The rules of " + uri + " have not been modified" );
+            fetched = new Entry( now, cached.xml, cached.ruleSet );
+        }
+        write( path, uri, fetched, log );
+        return fetched.ruleSet;
+    }
+
+    private static RuleSet parse( String uri, byte[] xml )
+        throws MojoExecutionException
+    {
+        try
+        {
+            return new RuleXpp3Reader().read( new ByteArrayInputStream( xml ) );
+        }
+        catch ( IOException | XmlPullParserException e )
+        {
+            throw new MojoExecutionException( "Could not load specified rules from " + uri, e );
+        }
+    }
+
+    private static Entry read( Path path, String uri )
+    {
+        try ( DataInputStream in = new DataInputStream( new BufferedInputStream( Files.newInputStream( path ) ) ) )
+        {
+            if ( in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !uri.equals( in.readUTF() ) )
+            {
+                return null;
+            }
+            long fetched = in.readLong();
+            byte[] xml = new byte[in.readInt()];
+            in.readFully( xml );
+            return new Entry( fetched, xml, parse( uri, xml ) );
+        }
+        catch ( NoSuchFileException e )
+        {
+            return null;
+        }
+        catch ( IOException | MojoExecutionException e )
+        {
+            // an unreadable copy is as good as none, it will be overwritten
+            return null;
+        }
+    }
+
+    private static void write( Path path, String uri, Entry entry, Log log )
+    {
+        try
+        {
+            Files.createDirectories( path.toAbsolutePath().getParent() );
+            Path temp = Files.createTempFile( path.toAbsolutePath().getParent(), path.getFileName().toString(),
+                                              ".tmp" );
+            try
+            {
+                try ( DataOutputStream out =
+                          new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temp ) ) ) )
+                {
+                    out.writeInt( MAGIC );
+                    out.writeInt( FORMAT_VERSION );
+                    out.writeUTF( uri );
+                    out.writeLong( entry.fetched );
+                    out.writeInt( entry.xml.length );
+                    out.write( entry.xml );
+                }
+                try
+                {
+                    Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+                }
+                catch ( AtomicMoveNotSupportedException e )
+                {
+                    Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING );
+                }
+            }
+            finally
+            {
+                Files.deleteIfExists( temp );
+            }
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Unable to cache the rules of " + uri + " in " + path + ": " + e.getMessage() );
+        }
+    }
+
+    private static String fileName( String uri )
+    {
+        try
+        {
+            StringBuilder name = new StringBuilder();
+            for ( byte b : MessageDigest.getInstance( "SHA-1" ).digest( uri.getBytes( StandardCharsets.UTF_8 ) ) )
+            {
+                name.append( String.format( "%02x", b ) );
+            }
+            return name.append( ".rules" ).toString();
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            // every Java platform is required to support SHA-1
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private static final class Entry
+    {
+        private final long fetched;
+
+        private final byte[] xml;
+
+        private final RuleSet ruleSet;
+
+        Entry( long fetched, byte[] xml, RuleSet ruleSet )
+        {
+            this.fetched = fetched;
+            this.xml = xml;
+            this.ruleSet = ruleSet;
+        }
+    }
+}
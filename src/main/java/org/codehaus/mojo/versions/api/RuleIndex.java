@@ -0,0 +1,225 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.codehaus.mojo.versions.model.Rule;
+import org.codehaus.mojo.versions.utils.RegexUtils;
+
+/**
+ * An index of the rules of a rule set, built once when the rule set is loaded, which finds the rule that best
+ * fits an artifact without compiling any regular expression.
+ * <p>
+ * A rule applies to all the groupIds starting with its groupId, so the rules are stored in a trie of the
+ * characters of their groupIds, each rule at the node of the literal part of its groupId, i.e. the part before
+ * its first wildcard. The rules which may apply to a groupId are then those found along the path of the groupId
+ * in the trie, and only those with wildcards need to be checked, against their precompiled patterns.
+ * The candidate rules are then evaluated in the order of the rule set, exactly as a scan of the whole
+ * rule set would.
+ *
+ * @since 2.13.0
+ */
+class RuleIndex
+{
+    private static final String WILDCARD = "*";
+
+    private final Node root = new Node();
+
+    /**
+     * Creates the index of the given rules.
+     *
+     * @param rules the rules, in the order of the rule set.
+     */
+    RuleIndex( List<Rule> rules )
+    {
+        for ( int i = 0; i < rules.size(); i++ )
+        {
+            IndexedRule indexed = new IndexedRule( i, rules.get( i ) );
+            Node node = root;
+            for ( char c : indexed.groupId.literalPrefix.toCharArray() )
+            {
+                node = node.children.computeIfAbsent( c, k -> new Node() );
+            }
+            node.rules.add( indexed );
+        }
+    }
+
+    /**
+     * Finds the rule, if any, which best fits the given artifact: a rule without wildcards overrides a rule
+     * with <code>?</code> wildcards, which overrides a rule with <code>*</code> wildcards, the groupId taking
+     * precedence over the artifactId.
+     *
+     * @param groupId    Group id of the artifact
+     * @param artifactId Artifact id of the artifact
+     * @return Rule which best describes the given artifact, or <code>null</code> if no rule applies.
+     */
+    Rule getBestFitRule( String groupId, String artifactId )
+    {
+        List<IndexedRule> candidates = new ArrayList<>();
+        Node node = root;
+        for ( int depth = 0; node != null; depth++ )
+        {
+            candidates.addAll( node.rules );
+            node = depth < groupId.length() ? node.children.get( groupId.charAt( depth ) ) : null;
+        }
+        candidates.sort( Comparator.comparingInt( rule -> rule.index ) );
+
+        Rule bestFit = null;
+        int bestGroupIdScore = Integer.MAX_VALUE;
+        int bestArtifactIdScore = Integer.MAX_VALUE;
+        boolean exactGroupId = false;
+        boolean exactArtifactId = false;
+        for ( IndexedRule candidate : candidates )
+        {
+            int groupIdScore = candidate.groupId.score;
+            if ( groupIdScore > bestGroupIdScore )
+            {
+                continue;
+            }
+            boolean exactMatch = candidate.groupId.exactMatch( groupId );
+            boolean match = exactMatch || candidate.groupId.match( groupId );
+            if ( !match || ( exactGroupId && !exactMatch ) )
+            {
+                continue;
+            }
+            if ( bestGroupIdScore > groupIdScore )
+            {
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            bestGroupIdScore = groupIdScore;
+            if ( exactMatch && !exactGroupId )
+            {
+                exactGroupId = true;
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            int artifactIdScore = candidate.artifactId.score;
+            if ( artifactIdScore > bestArtifactIdScore )
+            {
+                continue;
+            }
+            exactMatch = candidate.artifactId.exactMatch( artifactId );
+            match = exactMatch || candidate.artifactId.match( artifactId );
+            if ( !match || ( exactArtifactId && !exactMatch ) )
+            {
+                continue;
+            }
+            bestArtifactIdScore = artifactIdScore;
+            if ( exactMatch && !exactArtifactId )
+            {
+                exactArtifactId = true;
+            }
+            bestFit = candidate.rule;
+        }
+        return bestFit;
+    }
+
+    private static final class Node
+    {
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final List<IndexedRule> rules = new ArrayList<>();
+    }
+
+    private static final class IndexedRule
+    {
+        private final int index;
+
+        private final Rule rule;
+
+        private final CompiledWildcard groupId;
+
+        private final CompiledWildcard artifactId;
+
+        IndexedRule( int index, Rule rule )
+        {
+            this.index = index;
+            this.rule = rule;
+            this.groupId = new CompiledWildcard( rule.getGroupId() );
+            this.artifactId = new CompiledWildcard( rule.getArtifactId() != null ? rule.getArtifactId() : WILDCARD );
+        }
+    }
+
+    /**
+     * A wildcard rule with its score and patterns computed once; rules without wildcards are matched
+     * without regular expressions.
+     */
+    private static final class CompiledWildcard
+    {
+        private final String wildcardRule;
+
+        private final String literalPrefix;
+
+        private final int score;
+
+        private final Pattern exactPattern;
+
+        private final Pattern prefixPattern;
+
+        CompiledWildcard( String wildcardRule )
+        {
+            this.wildcardRule = wildcardRule;
+            this.score = RegexUtils.getWildcardScore( wildcardRule );
+            int wildcard = indexOfWildcard( wildcardRule );
+            if ( wildcard < 0 )
+            {
+                literalPrefix = wildcardRule;
+                exactPattern = null;
+                prefixPattern = null;
+            }
+            else
+            {
+                literalPrefix = wildcardRule.substring( 0, wildcard );
+                exactPattern = Pattern.compile( RegexUtils.convertWildcardsToRegex( wildcardRule, true ) );
+                prefixPattern = Pattern.compile( RegexUtils.convertWildcardsToRegex( wildcardRule, false ) );
+            }
+        }
+
+        boolean exactMatch( String value )
+        {
+            return exactPattern == null ? wildcardRule.equals( value ) : exactPattern.matcher( value ).matches();
+        }
+
+        boolean match( String value )
+        {
+            return prefixPattern == null ? value.startsWith( wildcardRule ) : prefixPattern.matcher( value ).matches();
+        }
+
+        private static int indexOfWildcard( String wildcardRule )
+        {
+            for ( int i = 0; i < wildcardRule.length(); i++ )
+            {
+                char c = wildcardRule.charAt( i );
+                if ( c == '?' || c == '*' )
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
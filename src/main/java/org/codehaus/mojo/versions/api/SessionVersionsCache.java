@@ -0,0 +1,241 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.mojo.versions.utils.SessionDataUtils;
+
+/**
+ * An in-memory cache of the versions available for an artifact, shared by every module and every goal
+ * of the same build. Entries are keyed in the same way as the {@link PersistentVersionsCache}.
+ * <p>
+ * Concurrent lookups of the same artifact, e.g. from different modules of a parallel build, wait for a single
+ * retrieval instead of each querying the repositories. Failed retrievals are not cached. Should the lookup
+ * performing the retrieval be cancelled or interrupted, the lookups waiting for it retry on their own.
+ * <p>
+ * The cache counts the retrievals it performed, the lookups answered from completed entries and the lookups
+ * coalesced with a retrieval still in progress.
+ *
+ * @since 2.13.0
+ */
+public class SessionVersionsCache
+{
+    private static final String SESSION_KEY = SessionVersionsCache.class.getName();
+
+    private final ConcurrentMap<String, CompletableFuture<List<ArtifactVersion>>> entries =
+        new ConcurrentHashMap<>();
+
+    private final AtomicLong retrievals = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Retrieves the available versions of an artifact.
+     */
+    @FunctionalInterface
+    public interface VersionsRetriever
+    {
+        /**
+         * @return the available versions, or {@code null} if none could be found.
+         * @throws ArtifactMetadataRetrievalException if the versions could not be retrieved
+         */
+        List<ArtifactVersion> retrieve()
+            throws ArtifactMetadataRetrievalException;
+    }
+
+    /**
+     * Returns the cache attached to the given session, creating it if necessary.
+     *
+     * @param session the maven session, may be {@code null}, in which case an unshared cache is returned.
+     * @return the cache for the session.
+     */
+    public static SessionVersionsCache getInstance( MavenSession session )
+    {
+        return SessionDataUtils.getOrCreate( session, SESSION_KEY, SessionVersionsCache.class,
+                                             SessionVersionsCache::new );
+    }
+
+    /**
+     * Returns the available versions of the given artifact, invoking the retriever only if no other lookup
+     * of the same artifact and repositories has completed or is in progress.
+     *
+     * @param artifact the artifact being looked up.
+     * @param repositories the remote repositories being consulted.
+     * @param retriever retrieves the versions if they are not cached.
+     * @return a modifiable copy of the available versions, or {@code null} if none could be found.
+     * @throws ArtifactMetadataRetrievalException if the versions could not be retrieved
+     */
+    public List<ArtifactVersion> getAvailableVersions( Artifact artifact, List<ArtifactRepository> repositories,
+                                                       VersionsRetriever retriever )
+        throws ArtifactMetadataRetrievalException
+    {
+        final String key = PersistentVersionsCache.key( artifact, repositories );
+        while ( true )
+        {
+            final CompletableFuture<List<ArtifactVersion>> future = new CompletableFuture<>();
+            final CompletableFuture<List<ArtifactVersion>> existing = entries.putIfAbsent( key, future );
+            if ( existing == null )
+            {
+                return retrieve( key, future, retriever );
+            }
+            ( existing.isDone() ? hits : coalesced ).incrementAndGet();
+            try
+            {
+                return copyOf( await( artifact, existing ) );
+            }
+            catch ( CancellationException e )
+            {
+                // the lookup performing the retrieval was cancelled, which says nothing of this one: retry
+            }
+        }
+    }
+
+    private List<ArtifactVersion> retrieve( String key, CompletableFuture<List<ArtifactVersion>> future,
+                                            VersionsRetriever retriever )
+        throws ArtifactMetadataRetrievalException
+    {
+        retrievals.incrementAndGet();
+        try
+        {
+            final List<ArtifactVersion> versions = retriever.retrieve();
+            if ( versions == null )
+            {
+                entries.remove( key, future );
+                future.complete( null );
+                return null;
+            }
+            future.complete( Collections.unmodifiableList( new ArrayList<>( versions ) ) );
+            return copyOf( versions );
+        }
+        catch ( Throwable t )
+        {
+            // whatever the failure, the lookups waiting for this retrieval must not wait forever
+            entries.remove( key, future );
+            if ( Thread.currentThread().isInterrupted() || isInterruption( t ) )
+            {
+                future.cancel( false );
+            }
+            else
+            {
+                future.completeExceptionally( t );
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * @return the number of lookups which retrieved the versions from the repositories.
+     */
+    public long getRetrievals()
+    {
+        return retrievals.get();
+    }
+
+    /**
+     * @return the number of lookups answered from a completed retrieval.
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups which waited for a retrieval of the same artifact already in progress.
+     */
+    public long getCoalesced()
+    {
+        return coalesced.get();
+    }
+
+    /**
+     * Logs the lookup statistics at debug level.
+     *
+     * @param log the log to report to.
+     */
+    public void logStatistics( Log log )
+    {
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Version lookups: " + getRetrievals() + " retrieved, " + getHits() + " cached, "
+                           + getCoalesced() + " coalesced" );
+        }
+    }
+
+    private static List<ArtifactVersion> await( Artifact artifact, CompletableFuture<List<ArtifactVersion>> future )
+        throws ArtifactMetadataRetrievalException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ArtifactMetadataRetrievalException( "Interrupted while waiting for the versions of "
+                                                              + artifact, e, artifact );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new ArtifactMetadataRetrievalException( e.getCause().getMessage(), e.getCause(), artifact );
+        }
+    }
+
+    /**
+     * @param t a failure to retrieve versions.
+     * @return {@code true} if the failure is caused by the interruption of the thread retrieving them.
+     */
+    private static boolean isInterruption( Throwable t )
+    {
+        for ( Throwable cause = t; cause != null; cause = cause.getCause() )
+        {
+            if ( cause instanceof InterruptedException || cause instanceof ClosedByInterruptException
+                || cause instanceof InterruptedIOException && !( cause instanceof SocketTimeoutException ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<ArtifactVersion> copyOf( List<ArtifactVersion> versions )
+    {
+        return versions != null ? new ArrayList<>( versions ) : null;
+    }
+}
@@ -0,0 +1,74 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Optional;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+
+/**
+ * The updates of a version, for each {@link Segment} as well as for any segment, computed once and then shared by
+ * all the queries of the oldest, newest and all updates, which the report renderers make many times per artifact.
+ *
+ * @since 2.13.0
+ */
+final class UpdateSummary
+{
+    /**
+     * The updates for any segment, followed by those of each segment in turn, each sorted from the oldest to the
+     * newest, or <code>null</code> if the segment is not valid for the current version.
+     */
+    private final ArtifactVersion[][] updates;
+
+    /**
+     * @param updates the updates for any segment, followed by those of each segment in turn.
+     */
+    UpdateSummary( ArtifactVersion[][] updates )
+    {
+        this.updates = updates;
+    }
+
+    /**
+     * @param updateScope the segment, or {@link Optional#empty()} for any segment.
+     * @return the index of the updates of the segment.
+     */
+    static int indexOf( Optional<Segment> updateScope )
+    {
+        return updateScope.map( segment -> segment.value() + 1 ).orElse( 0 );
+    }
+
+    ArtifactVersion getOldestUpdate( Optional<Segment> updateScope )
+    {
+        ArtifactVersion[] scoped = updates[indexOf( updateScope )];
+        return scoped == null || scoped.length == 0 ? null : scoped[0];
+    }
+
+    ArtifactVersion getNewestUpdate( Optional<Segment> updateScope )
+    {
+        ArtifactVersion[] scoped = updates[indexOf( updateScope )];
+        return scoped == null || scoped.length == 0 ? null : scoped[scoped.length - 1];
+    }
+
+    ArtifactVersion[] getAllUpdates( Optional<Segment> updateScope )
+    {
+        ArtifactVersion[] scoped = updates[indexOf( updateScope )];
+        return scoped == null ? null : scoped.clone();
+    }
+}
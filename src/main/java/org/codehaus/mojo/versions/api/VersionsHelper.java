@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
@@ -158,6 +159,19 @@ public interface VersionsHelper
     ArtifactVersions lookupArtifactVersions( Artifact artifact, boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException;
 
+    /**
+     * Looks up the versions available for every one of the artifacts of the given associations. The result is
+     * computed once per set of associations.
+     *
+     * @param associations The associations to look for versions of.
+     * @return The versions common to all the associations, in the order of the versions of the first association,
+     *         or an empty list if there are no associations.
+     * @throws ArtifactMetadataRetrievalException When things go wrong.
+     * @since 2.13.0
+     */
+    List<ArtifactVersion> lookupAssociatedVersions( Set<ArtifactAssociation> associations )
+        throws ArtifactMetadataRetrievalException;
+
     /**
      * Looks up the updates for a set of dependencies.
      *
@@ -171,6 +185,35 @@ public interface VersionsHelper
                                                                  boolean usePluginRepositories )
         throws ArtifactMetadataRetrievalException;
 
+    /**
+     * Looks up the updates for a set of dependencies, passing the details of each dependency to the given
+     * consumer as soon as its lookup is complete. The consumer is invoked by the calling thread, in the order
+     * in which the lookups complete; the returned map is ordered as for
+     * {@link #lookupDependenciesUpdates(Set, boolean)}.
+     *
+     * @param dependencies The set of {@link Dependency} instances to look up.
+     * @param usePluginRepositories Search the plugin repositories.
+     * @param onLookup The consumer of the details of each dependency.
+     * @return A map, keyed by dependency, with values of type {@link org.codehaus.mojo.versions.api.ArtifactVersions}.
+     * @throws ArtifactMetadataRetrievalException When things go wrong.
+     * @since 2.13.0
+     */
+    Map<Dependency, ArtifactVersions> lookupDependenciesUpdates( Set<Dependency> dependencies,
+                                                                 boolean usePluginRepositories,
+                                                                 BiConsumer<Dependency, ArtifactVersions> onLookup )
+        throws ArtifactMetadataRetrievalException;
+
+    /**
+     * Looks up the versions of the given artifacts in parallel, so that subsequent lookups of the same artifacts
+     * during the build are answered from the cache. Lookups which fail are ignored: they are not cached,
+     * so they fail again, and are reported, when the artifact is actually looked up.
+     *
+     * @param artifacts The artifacts to look up.
+     * @param usePluginRepositories Search the plugin repositories.
+     * @since 2.13.0
+     */
+    void prefetchArtifactVersions( Collection<Artifact> artifacts, boolean usePluginRepositories );
+
     /**
      * Creates an {@link org.codehaus.mojo.versions.api.ArtifactVersions} instance from a dependency.
      *
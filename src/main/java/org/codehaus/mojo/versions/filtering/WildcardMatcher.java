@@ -4,7 +4,7 @@ import java.util.function.Predicate;
 
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
-import org.apache.maven.artifact.versioning.VersionRange;
+import org.codehaus.mojo.versions.utils.VersionRangeUtils;
 
 public class WildcardMatcher implements Predicate<String>
 {
@@ -74,7 +74,8 @@ public class WildcardMatcher implements Predicate<String>
     {
         try
         {
-            return VersionRange.createFromVersionSpec( range ).containsVersion( new DefaultArtifactVersion( version ) );
+            return VersionRangeUtils.createFromVersionSpec( range )
+                .containsVersion( new DefaultArtifactVersion( version ) );
         }
         catch ( InvalidVersionSpecificationException e )
         {
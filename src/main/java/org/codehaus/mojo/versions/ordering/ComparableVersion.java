@@ -20,14 +20,15 @@ package org.codehaus.mojo.versions.ordering;
  */
 
 import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
 import java.util.Properties;
-import java.util.Stack;
 
 /**
  * Generic implementation of version comparison.
@@ -61,25 +62,52 @@ public class ComparableVersion
     }
 
     /**
-     * Represents a numeric item in the version item list.
+     * Represents a numeric item in the version item list. The value is held in a <code>long</code>, and only in a
+     * {@link BigInteger} if it does not fit.
      */
     private static class IntegerItem
         implements Item
     {
-        private static final BigInteger BIG_INTEGEGER_ZERO = new BigInteger( "0" );
+        private static final int RADIX = 10;
 
-        private final BigInteger value;
+        private static final IntegerItem[] SMALL_VALUES = new IntegerItem[64];
 
-        public static final IntegerItem ZERO = new IntegerItem();
+        static
+        {
+            for ( int i = 0; i < SMALL_VALUES.length; i++ )
+            {
+                SMALL_VALUES[i] = new IntegerItem( i, null );
+            }
+        }
+
+        public static final IntegerItem ZERO = SMALL_VALUES[0];
+
+        private final long value;
+
+        private final BigInteger bigValue;
 
-        private IntegerItem()
+        private IntegerItem( long value, BigInteger bigValue )
         {
-            this.value = BIG_INTEGEGER_ZERO;
+            this.value = value;
+            this.bigValue = bigValue;
         }
 
-        IntegerItem( String str )
+        /**
+         * Parses the digits of <code>version</code> between <code>start</code> and <code>end</code>.
+         */
+        static IntegerItem parse( String version, int start, int end )
         {
-            this.value = new BigInteger( str );
+            long value = 0;
+            for ( int i = start; i < end; i++ )
+            {
+                int digit = Character.digit( version.charAt( i ), RADIX );
+                if ( value > ( Long.MAX_VALUE - digit ) / RADIX )
+                {
+                    return new IntegerItem( 0, new BigInteger( version.substring( start, end ) ) );
+                }
+                value = value * RADIX + digit;
+            }
+            return value < SMALL_VALUES.length ? SMALL_VALUES[(int) value] : new IntegerItem( value, null );
         }
 
         public int getType()
@@ -89,20 +117,26 @@ public class ComparableVersion
 
         public boolean isNull()
         {
-            return BIG_INTEGEGER_ZERO.equals( value );
+            // a big value never is zero
+            return bigValue == null && value == 0;
         }
 
         public int compareTo( Item item )
         {
             if ( item == null )
             {
-                return BIG_INTEGEGER_ZERO.equals( value ) ? 0 : 1; // 1.0 == 1, 1.1 > 1
+                return isNull() ? 0 : 1; // 1.0 == 1, 1.1 > 1
             }
 
             switch ( item.getType() )
             {
                 case INTEGER_ITEM:
-                    return value.compareTo( ( (IntegerItem) item ).value );
+                    IntegerItem other = (IntegerItem) item;
+                    if ( bigValue == null && other.bigValue == null )
+                    {
+                        return Long.compare( value, other.value );
+                    }
+                    return toBigInteger().compareTo( other.toBigInteger() );
 
                 case STRING_ITEM:
                     return 1; // 1.1 > 1-sp
@@ -115,9 +149,14 @@ public class ComparableVersion
             }
         }
 
+        private BigInteger toBigInteger()
+        {
+            return bigValue != null ? bigValue : BigInteger.valueOf( value );
+        }
+
         public String toString()
         {
-            return value.toString();
+            return bigValue != null ? bigValue.toString() : Long.toString( value );
         }
     }
 
@@ -333,17 +372,22 @@ public class ComparableVersion
         parseVersion( version );
     }
 
+    /**
+     * Parses the given version in a single pass: only the qualifiers are copied, and lower-cased, while the numbers
+     * are read in place.
+     *
+     * @param version the version to parse.
+     */
     public final void parseVersion( String version )
     {
         this.value = version;
+        this.canonical = null;
 
         items = new ListItem();
 
-        version = version.toLowerCase( Locale.ENGLISH );
-
         ListItem list = items;
 
-        Stack<ListItem> stack = new Stack<>();
+        Deque<ListItem> stack = new ArrayDeque<>();
         stack.push( list );
 
         boolean isDigit = false;
@@ -362,7 +406,7 @@ public class ComparableVersion
                 }
                 else
                 {
-                    list.add( parseItem( isDigit, version.substring( startIndex, i ) ) );
+                    list.add( parseItem( isDigit, version, startIndex, i ) );
                 }
                 startIndex = i + 1;
             }
@@ -374,7 +418,7 @@ public class ComparableVersion
                 }
                 else
                 {
-                    list.add( parseItem( isDigit, version.substring( startIndex, i ) ) );
+                    list.add( parseItem( isDigit, version, startIndex, i ) );
                 }
                 startIndex = i + 1;
 
@@ -398,7 +442,7 @@ public class ComparableVersion
             {
                 if ( !isDigit && i > startIndex )
                 {
-                    list.add( new StringItem( version.substring( startIndex, i ), true ) );
+                    list.add( new StringItem( toLowerCase( version, startIndex, i ), true ) );
                     startIndex = i;
                 }
 
@@ -408,7 +452,7 @@ public class ComparableVersion
             {
                 if ( isDigit && i > startIndex )
                 {
-                    list.add( parseItem( true, version.substring( startIndex, i ) ) );
+                    list.add( parseItem( true, version, startIndex, i ) );
                     startIndex = i;
                 }
 
@@ -418,7 +462,7 @@ public class ComparableVersion
 
         if ( version.length() > startIndex )
         {
-            list.add( parseItem( isDigit, version.substring( startIndex ) ) );
+            list.add( parseItem( isDigit, version, startIndex, version.length() ) );
         }
 
         while ( !stack.isEmpty() )
@@ -426,13 +470,18 @@ public class ComparableVersion
             list = stack.pop();
             list.normalize();
         }
+    }
 
-        canonical = items.toString();
+    private static Item parseItem( boolean isDigit, String version, int start, int end )
+    {
+        return isDigit
+            ? IntegerItem.parse( version, start, end )
+            : new StringItem( toLowerCase( version, start, end ), false );
     }
 
-    private static Item parseItem( boolean isDigit, String buf )
+    private static String toLowerCase( String version, int start, int end )
     {
-        return isDigit ? new IntegerItem( buf ) : new StringItem( buf, false );
+        return version.substring( start, end ).toLowerCase( Locale.ENGLISH );
     }
 
     public int compareTo( ComparableVersion o )
@@ -447,11 +496,21 @@ public class ComparableVersion
 
     public boolean equals( Object o )
     {
-        return ( o instanceof ComparableVersion ) && canonical.equals( ( (ComparableVersion) o ).canonical );
+        return ( o instanceof ComparableVersion ) && getCanonical().equals( ( (ComparableVersion) o ).getCanonical() );
     }
 
     public int hashCode()
     {
-        return canonical.hashCode();
+        return getCanonical().hashCode();
+    }
+
+    private String getCanonical()
+    {
+        // only needed for equality, so computed on demand
+        if ( canonical == null )
+        {
+            canonical = items.toString();
+        }
+        return canonical;
     }
 }
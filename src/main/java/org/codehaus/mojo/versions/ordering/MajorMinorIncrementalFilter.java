@@ -19,7 +19,8 @@ package org.codehaus.mojo.versions.ordering;
  * under the License.
  */
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,55 +69,68 @@ public class MajorMinorIncrementalFilter
 
     /**
      * @param selectedVersion The version which will be checked.
-     * @param newerVersions   The list of identified versions which are greater or equal than the selectedVersion.
+     * @param newerVersions   The sorted list of identified versions which are greater or equal than the
+     *                        selectedVersion.
      * @return The cleaned up list which obeys usage of {@link #allowMajorUpdates}, {@link #allowMinorUpdates},
-     * {@link #allowIncrementalUpdates}.
+     * {@link #allowIncrementalUpdates}, without consecutive equal versions.
      */
     public ArtifactVersion[] filter( ArtifactVersion selectedVersion, ArtifactVersion[] newerVersions )
     {
-        List<ArtifactVersion> versionsToUse = new LinkedList<>();
-        for ( ArtifactVersion artifactVersion : newerVersions )
+        // the versions to use usually are a range of the newer versions, which is only copied at the end
+        int from = -1;
+        int to = -1;
+        List<ArtifactVersion> versionsToUse = null;
+        ArtifactVersion previous = null;
+        for ( int i = 0; i < newerVersions.length; i++ )
         {
-            if ( artifactVersion.getMajorVersion() != selectedVersion.getMajorVersion() )
+            ArtifactVersion artifactVersion = newerVersions[i];
+            if ( !isAllowed( selectedVersion, artifactVersion )
+                || previous != null && previous.compareTo( artifactVersion ) == 0 )
             {
-                if ( allowMajorUpdates )
-                {
-                    if ( !versionsToUse.contains( artifactVersion ) )
-                    {
-                        versionsToUse.add( artifactVersion );
-                    }
-                }
+                continue;
             }
-            else if ( artifactVersion.getMinorVersion() != selectedVersion.getMinorVersion() )
+            previous = artifactVersion;
+            if ( versionsToUse != null )
             {
-                if ( allowMinorUpdates )
-                {
-                    if ( !versionsToUse.contains( artifactVersion ) )
-                    {
-                        versionsToUse.add( artifactVersion );
-                    }
-                }
+                versionsToUse.add( artifactVersion );
             }
-            else if ( artifactVersion.getIncrementalVersion() != selectedVersion.getIncrementalVersion() )
+            else if ( from < 0 )
             {
-                if ( allowIncrementalUpdates )
-                {
-                    if ( !versionsToUse.contains( artifactVersion ) )
-                    {
-                        versionsToUse.add( artifactVersion );
-                    }
-                }
+                from = i;
+                to = i + 1;
+            }
+            else if ( to == i )
+            {
+                to++;
             }
             else
             {
-                // build number or qualifier.  Will already be sorted and higher
-                if ( !versionsToUse.contains( artifactVersion ) )
-                {
-                    versionsToUse.add( artifactVersion );
-                }
+                versionsToUse = new ArrayList<>( Arrays.asList( newerVersions ).subList( from, to ) );
+                versionsToUse.add( artifactVersion );
             }
         }
-        return versionsToUse.toArray( new ArtifactVersion[0] );
+        if ( versionsToUse != null )
+        {
+            return versionsToUse.toArray( new ArtifactVersion[0] );
+        }
+        return from < 0 ? new ArtifactVersion[0] : Arrays.copyOfRange( newerVersions, from, to );
+    }
 
+    private boolean isAllowed( ArtifactVersion selectedVersion, ArtifactVersion artifactVersion )
+    {
+        if ( artifactVersion.getMajorVersion() != selectedVersion.getMajorVersion() )
+        {
+            return allowMajorUpdates;
+        }
+        if ( artifactVersion.getMinorVersion() != selectedVersion.getMinorVersion() )
+        {
+            return allowMinorUpdates;
+        }
+        if ( artifactVersion.getIncrementalVersion() != selectedVersion.getIncrementalVersion() )
+        {
+            return allowIncrementalUpdates;
+        }
+        // build number or qualifier.  Will already be sorted and higher
+        return true;
     }
 }
@@ -38,7 +38,7 @@ public class MavenVersionComparator extends AbstractVersionComparator
      */
     public int compare( ArtifactVersion o1, ArtifactVersion o2 )
     {
-        return new ComparableVersion( o1.toString() ).compareTo( new ComparableVersion( o2.toString() ) );
+        return VersionSortKey.of( o1.toString() ).compareTo( VersionSortKey.of( o2.toString() ) );
     }
 
     /**
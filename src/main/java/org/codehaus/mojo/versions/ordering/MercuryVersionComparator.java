@@ -43,7 +43,7 @@ public class MercuryVersionComparator
      */
     public int compare( ArtifactVersion o1, ArtifactVersion o2 )
     {
-        return new ComparableVersion( o1.toString() ).compareTo( new ComparableVersion( o2.toString() ) );
+        return VersionSortKey.of( o1.toString() ).compareTo( VersionSortKey.of( o2.toString() ) );
     }
 
     protected int innerGetSegmentCount( ArtifactVersion v )
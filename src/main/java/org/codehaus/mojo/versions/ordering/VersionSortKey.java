@@ -0,0 +1,192 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The sort key of a version under {@link ComparableVersion}'s rules. The most common versions, up to four numeric
+ * components optionally followed by a dash and a well-known qualifier, e.g. <code>1.2.3</code> or
+ * <code>2.0-SNAPSHOT</code>, are packed into two <code>long</code>s compared directly; the other versions are
+ * compared as {@link ComparableVersion}s. The order is exactly that of {@link ComparableVersion}.
+ * <p>
+ * Sort keys are cached, so that sorting long lists of versions parses each distinct version once rather than on
+ * every comparison. The cache is shared by all the comparators and, once full, simply cleared, which keeps
+ * lookups lock-free.
+ *
+ * @since 2.13.0
+ */
+final class VersionSortKey
+    implements Comparable<VersionSortKey>
+{
+    static final int MAX_ENTRIES = 16384;
+
+    private static final ConcurrentMap<String, VersionSortKey> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The qualifiers known to {@link ComparableVersion}, in their order; an alias is ranked as the qualifier
+     * it stands for.
+     */
+    private static final List<String> QUALIFIERS = Arrays.asList( "snapshot", "alpha", "beta", "milestone",
+                                                                  "preview", "rc", "", "sp" );
+
+    private static final List<String> ALIASES = Arrays.asList( "mr", "cr", "final", "ga" );
+
+    private static final List<String> ALIASED = Arrays.asList( "milestone", "rc", "", "" );
+
+    private static final int HIGH_SHIFT = 32;
+
+    private static final int THIRD_SHIFT = 35;
+
+    private static final int FOURTH_SHIFT = 4;
+
+    /**
+     * The largest value of each numeric component which fits in its bits of the packed key: the first two
+     * components take 31 bits each of the high key, the last two 28 and 31 bits of the low key, along with
+     * 4 bits for the qualifier.
+     */
+    private static final long[] MAX_COMPONENTS = {Integer.MAX_VALUE, Integer.MAX_VALUE,
+        ( 1L << Long.SIZE - 1 - THIRD_SHIFT ) - 1, Integer.MAX_VALUE};
+
+    private static final int RADIX = 10;
+
+    private final String version;
+
+    private final boolean packed;
+
+    private final long high;
+
+    private final long low;
+
+    private volatile ComparableVersion comparableVersion;
+
+    private VersionSortKey( String version )
+    {
+        this.version = version;
+        long[] components = new long[MAX_COMPONENTS.length];
+        int count = 0;
+        int qualifier = QUALIFIERS.indexOf( "" );
+        boolean valid = true;
+        int i = 0;
+        while ( valid )
+        {
+            int start = i;
+            long component = 0;
+            while ( valid && i < version.length() && isDigit( version.charAt( i ) ) )
+            {
+                component = component * RADIX + ( version.charAt( i++ ) - '0' );
+                valid = count < components.length && component <= MAX_COMPONENTS[count];
+            }
+            if ( !valid || i == start )
+            {
+                valid = false;
+                break;
+            }
+            components[count++] = component;
+            if ( i == version.length() )
+            {
+                break;
+            }
+            char separator = version.charAt( i++ );
+            if ( separator == '-' )
+            {
+                qualifier = qualifierIndex( version.substring( i ).toLowerCase( Locale.ENGLISH ) );
+                valid = qualifier >= 0;
+                break;
+            }
+            valid = separator == '.';
+        }
+        this.packed = valid;
+        this.high = components[0] << HIGH_SHIFT | components[1];
+        this.low = components[2] << THIRD_SHIFT | components[3] << FOURTH_SHIFT | Math.max( qualifier, 0 );
+    }
+
+    /**
+     * @param version the version string.
+     * @return the sort key of the version.
+     */
+    static VersionSortKey of( String version )
+    {
+        VersionSortKey key = CACHE.get( version );
+        if ( key == null )
+        {
+            if ( CACHE.size() >= MAX_ENTRIES )
+            {
+                CACHE.clear();
+            }
+            key = new VersionSortKey( version );
+            VersionSortKey concurrent = CACHE.putIfAbsent( version, key );
+            if ( concurrent != null )
+            {
+                key = concurrent;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return <code>true</code> if the version is compared through its packed key.
+     */
+    boolean isPacked()
+    {
+        return packed;
+    }
+
+    public int compareTo( VersionSortKey other )
+    {
+        if ( packed && other.packed )
+        {
+            int result = Long.compare( high, other.high );
+            return result != 0 ? result : Long.compare( low, other.low );
+        }
+        return getComparableVersion().compareTo( other.getComparableVersion() );
+    }
+
+    private ComparableVersion getComparableVersion()
+    {
+        ComparableVersion result = comparableVersion;
+        if ( result == null )
+        {
+            result = new ComparableVersion( version );
+            comparableVersion = result;
+        }
+        return result;
+    }
+
+    private static boolean isDigit( char c )
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int qualifierIndex( String qualifier )
+    {
+        int alias = ALIASES.indexOf( qualifier );
+        return QUALIFIERS.indexOf( alias < 0 ? qualifier : ALIASED.get( alias ) );
+    }
+
+    public String toString()
+    {
+        return version;
+    }
+}
@@ -0,0 +1,95 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Utility methods for sharing objects between all the mojos executed in the same build.
+ * <p>
+ * Objects are attached to the data of the repository session, which, unlike the {@link MavenSession} itself,
+ * is not cloned for each module of a parallel build.
+ *
+ * @since 2.13.0
+ */
+public class SessionDataUtils
+{
+    private SessionDataUtils()
+    {
+    }
+
+    /**
+     * Returns the object stored under the given key in the data of the session, creating and storing it
+     * if it does not exist yet, at most once per session. If there is no repository session, or the stored object
+     * was created by a different class loader, an unshared object is returned.
+     *
+     * @param session the maven session, may be {@code null}
+     * @param key     the key of the object
+     * @param type    the type of the object
+     * @param factory creates the object if it does not exist yet
+     * @param <T>     the type of the object
+     * @return the shared object
+     */
+    public static <T> T getOrCreate( MavenSession session, String key, Class<T> type, Supplier<T> factory )
+    {
+        RepositorySystemSession repositorySession = session != null ? session.getRepositorySession() : null;
+        SessionData data = repositorySession != null ? repositorySession.getData() : null;
+        if ( data == null )
+        {
+            return factory.get();
+        }
+
+        Object value = data.get( key );
+        if ( value == null )
+        {
+            // created under a lock, so that no object is created in vain, which matters for those holding threads
+            synchronized ( data )
+            {
+                value = data.get( key );
+                if ( value == null )
+                {
+                    value = factory.get();
+                    data.set( key, value );
+                }
+            }
+        }
+        return type.isInstance( value ) ? type.cast( value ) : factory.get();
+    }
+
+    /**
+     * Tells whether the given project is the last one of the build, so that what is shared by the projects
+     * of the build may be reported on once it is.
+     *
+     * @param session the maven session, may be {@code null}
+     * @param project the project
+     * @return {@code true} if the project is the last one of the build, or if the projects of the build are unknown
+     */
+    public static boolean isLastProject( MavenSession session, MavenProject project )
+    {
+        List<MavenProject> projects = session != null ? session.getProjects() : null;
+        return projects == null || projects.isEmpty() || projects.get( projects.size() - 1 ) == project;
+    }
+}
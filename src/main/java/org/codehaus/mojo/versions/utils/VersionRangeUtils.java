@@ -0,0 +1,109 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * Utility methods to parse version ranges, which keep the ranges already parsed, as well as the failures
+ * to parse invalid ranges, since the same ranges are parsed over and over by the filters, the mojos and the reports.
+ *
+ * @since 2.13.0
+ */
+public final class VersionRangeUtils
+{
+    /**
+     * The number of specs kept, beyond which the cache is cleared.
+     */
+    private static final int MAX_ENTRIES = 4096;
+
+    /**
+     * The parsed ranges, or the failures to parse them, keyed by spec; looked up without locking, but only
+     * added to while holding its lock, so that it never grows beyond {@link #MAX_ENTRIES}.
+     */
+    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
+
+    private VersionRangeUtils()
+    {
+        throw new IllegalAccessError( "Utility classes should never be instantiated" );
+    }
+
+    /**
+     * Parses a version range, as {@link VersionRange#createFromVersionSpec(String)} does. The ranges returned
+     * are shared and must not be modified.
+     *
+     * @param spec The version range spec, may be <code>null</code>.
+     * @return The version range, or <code>null</code> if the spec is <code>null</code>.
+     * @throws InvalidVersionSpecificationException if the spec is not a valid version range.
+     */
+    public static VersionRange createFromVersionSpec( String spec )
+        throws InvalidVersionSpecificationException
+    {
+        if ( spec == null )
+        {
+            return null;
+        }
+        Object parsed = CACHE.get( spec );
+        if ( parsed == null )
+        {
+            try
+            {
+                parsed = VersionRange.createFromVersionSpec( spec );
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                parsed = new Failure( e.getMessage() );
+            }
+            synchronized ( CACHE )
+            {
+                if ( CACHE.size() >= MAX_ENTRIES )
+                {
+                    // the specs of a build are few, so this only happens in very long lived JVMs
+                    CACHE.clear();
+                }
+                Object previous = CACHE.putIfAbsent( spec, parsed );
+                parsed = previous != null ? previous : parsed;
+            }
+        }
+        if ( parsed instanceof Failure )
+        {
+            // a new exception each time, so that it is reported where the spec is parsed
+            throw new InvalidVersionSpecificationException( ( (Failure) parsed ).message );
+        }
+        return (VersionRange) parsed;
+    }
+
+    /**
+     * The failure to parse a spec.
+     */
+    private static final class Failure
+    {
+        private final String message;
+
+        private Failure( String message )
+        {
+            this.message = message;
+        }
+    }
+}
@@ -30,11 +30,13 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.mojo.versions.api.ArtifactVersions;
+import org.codehaus.mojo.versions.ordering.MavenVersionComparator;
 import org.hamcrest.core.Is;
 import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.IsNull.nullValue;
 
 /**
@@ -59,6 +61,25 @@ public class DependencyUpdatesXmlRendererTest
         assertThat( versionsBlocks, containsString( "<currentVersion>[1.0,3.0]</currentVersion>" ) );
     }
 
+    @Test
+    public void testUnknownVersions() throws InvalidVersionSpecificationException
+    {
+        final Artifact artifact =
+                new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.0" ), "foo",
+                        "bar", "jar", null );
+        ArtifactVersions unknown = ArtifactVersions.unknown( artifact, new MavenVersionComparator() );
+        assertThat( DependencyUpdatesXmlRenderer.getVersionsBlocks( unknown ),
+                    containsString( "<status>unknown</status>" ) );
+
+        ArtifactVersions known = new ArtifactVersions( artifact, versionsOf( "1.0", "2.0" ),
+                                                        new MavenVersionComparator() );
+        String summary = DependencyUpdatesXmlRenderer.getSummaryBlock( Arrays.asList( unknown, known ) );
+        assertThat( summary, containsString( "<nextMajorAvailable>1</nextMajorAvailable>" ) );
+        assertThat( summary, containsString( "<unknown>1</unknown>" ) );
+        assertThat( DependencyUpdatesXmlRenderer.getSummaryBlock( Arrays.asList( known ) ),
+                    not( containsString( "<unknown>" ) ) );
+    }
+
     private static List<ArtifactVersion> versionsOf( String... versions )
     {
         return Arrays.stream( versions ).map( DefaultArtifactVersion::new ).collect( Collectors.toList() );
@@ -8,9 +8,12 @@ import java.util.HashMap;
 
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.metadata.ArtifactMetadataSource;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
@@ -19,12 +22,14 @@ import org.codehaus.mojo.versions.api.PomHelper;
 import org.codehaus.mojo.versions.change.VersionChange;
 import org.codehaus.mojo.versions.utils.DependencyBuilder;
 import org.codehaus.mojo.versions.utils.TestChangeRecorder;
+import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.hamcrest.core.Is;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockedStatic;
 
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static org.apache.maven.artifact.Artifact.SCOPE_COMPILE;
 import static org.apache.maven.plugin.testing.ArtifactStubFactory.setVariableValueToObject;
 import static org.codehaus.mojo.versions.utils.MockUtils.mockArtifactMetadataSource;
@@ -32,8 +37,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings( "deprecation" )
@@ -41,6 +49,7 @@ public class UseLatestVersionsMojoTest
 {
     private UseLatestVersionsMojo mojo;
     private TestChangeRecorder changeRecorder;
+    private ArtifactMetadataSource artifactMetadataSourceMock;
 
     @Before
     public void setUp() throws Exception
@@ -54,7 +63,7 @@ public class UseLatestVersionsMojoTest
                     dependency.getClassifier() != null ? dependency.getClassifier() : "default", null );
         } );
 
-        ArtifactMetadataSource artifactMetadataSourceMock = mockArtifactMetadataSource( new HashMap<String, String[]>()
+        artifactMetadataSourceMock = mockArtifactMetadataSource( new HashMap<String, String[]>()
         {{
             put( "dependency-artifact", new String[] {"1.1.1-SNAPSHOT", "1.1.0", "1.1.0-SNAPSHOT", "1.0.0",
                     "1.0.0-SNAPSHOT", "0.9.0"} );
@@ -257,4 +266,61 @@ public class UseLatestVersionsMojoTest
         }
         assertThat( changeRecorder.getChanges(), Is.is( empty() ) );
     }
+
+    @Test
+    public void testPrefetchIsLimitedToTheProcessedArtifacts()
+            throws Exception
+    {
+        mojo.getProject().getModel().setDependencies( Arrays.asList(
+                DependencyBuilder.dependencyWith( "default-group", "dependency-artifact", "1.1.1-SNAPSHOT",
+                        "default", "pom", SCOPE_COMPILE ),
+                DependencyBuilder.dependencyWith( "default-group", "poison-artifact", "1.1.1.1-SNAPSHOT",
+                        "default", "pom", SCOPE_COMPILE )
+                ) );
+        mojo.getProject().getModel().setBuild( new Build() );
+        mojo.getProject().getModel().getBuild().addPlugin( new Plugin()
+        {{
+            setGroupId( "default-group" );
+            setArtifactId( "plugin-artifact" );
+        }} );
+        setVariableValueToObject( mojo, "reactorProjects", singletonList( mojo.getProject() ) );
+        setVariableValueToObject( mojo, "processDependencies", true );
+        setVariableValueToObject( mojo, "includes", new String[] {"default-group:dependency-artifact"} );
+
+        mojo.prefetchReactorVersions();
+
+        verify( artifactMetadataSourceMock ).retrieveAvailableVersions(
+                argThat( artifact -> "dependency-artifact".equals( artifact.getArtifactId() ) ), any(), any() );
+        verify( artifactMetadataSourceMock, never() ).retrieveAvailableVersions(
+                argThat( artifact -> !"dependency-artifact".equals( artifact.getArtifactId() ) ), any(), any() );
+    }
+
+    @Test
+    public void testPrefetchOfLaterGoalsCoversTheirOwnArtifacts()
+            throws Exception
+    {
+        mojo.getProject().getModel().setDependencies( Arrays.asList(
+                DependencyBuilder.dependencyWith( "default-group", "dependency-artifact", "1.1.1-SNAPSHOT",
+                        "default", "pom", SCOPE_COMPILE ),
+                DependencyBuilder.dependencyWith( "default-group", "poison-artifact", "1.1.1.1-SNAPSHOT",
+                        "default", "pom", SCOPE_COMPILE )
+                ) );
+        MavenSession session = mock( MavenSession.class );
+        when( session.getRepositorySession() ).thenReturn( new DefaultRepositorySystemSession() );
+        setVariableValueToObject( mojo, "session", session );
+        setVariableValueToObject( mojo, "reactorProjects", singletonList( mojo.getProject() ) );
+        setVariableValueToObject( mojo, "processDependencies", true );
+
+        setVariableValueToObject( mojo, "includes", new String[] {"default-group:dependency-artifact"} );
+        mojo.prefetchReactorVersions();
+        // a later goal of the same build, processing other artifacts
+        setVariableValueToObject( mojo, "includes", null );
+        setVariableValueToObject( mojo, "includesFilter", null );
+        mojo.prefetchReactorVersions();
+
+        verify( artifactMetadataSourceMock ).retrieveAvailableVersions(
+                argThat( artifact -> "dependency-artifact".equals( artifact.getArtifactId() ) ), any(), any() );
+        verify( artifactMetadataSourceMock ).retrieveAvailableVersions(
+                argThat( artifact -> "poison-artifact".equals( artifact.getArtifactId() ) ), any(), any() );
+    }
 }
@@ -25,12 +25,17 @@ import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.Restriction;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.codehaus.mojo.versions.ordering.MavenVersionComparator;
 import org.codehaus.mojo.versions.ordering.MercuryVersionComparator;
 import org.hamcrest.Matchers;
 import org.junit.Test;
 
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.codehaus.mojo.versions.api.Segment.MAJOR;
+import static org.codehaus.mojo.versions.api.Segment.MINOR;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -96,6 +101,61 @@ public class ArtifactVersionsTest
             instance.getNewestVersion( new DefaultArtifactVersion( "1.1" ), new DefaultArtifactVersion( "3.0" ) ) );
     }
 
+    @Test
+    public void testRangeQueries()
+        throws Exception
+    {
+        ArtifactVersion[] versions = versions( "1.0", "1.1-SNAPSHOT", "1.1", "1.2-SNAPSHOT", "2.0", "2.1", "3.0" );
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.1" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        ArtifactVersions instance =
+            new ArtifactVersions( artifact, Arrays.asList( versions ), new MavenVersionComparator() );
+        assertArrayEquals( versions( "1.1", "2.0", "2.1" ), instance.getVersions(
+            new Restriction( new DefaultArtifactVersion( "1.1" ), true, new DefaultArtifactVersion( "3.0" ), false ),
+            false ) );
+        assertArrayEquals( versions( "1.2-SNAPSHOT", "2.0", "2.1", "3.0" ), instance.getVersions(
+            new Restriction( new DefaultArtifactVersion( "1.1" ), false, new DefaultArtifactVersion( "3.0" ), true ),
+            true ) );
+        assertArrayEquals( versions( "2.0", "2.1" ), instance.getVersions(
+            VersionRange.createFromVersionSpec( "[2.0,3.0)" ),
+            new Restriction( new DefaultArtifactVersion( "1.1" ), false, null, false ), false ) );
+        assertArrayEquals( new ArtifactVersion[0], instance.getVersions(
+            new Restriction( new DefaultArtifactVersion( "2.1" ), false, new DefaultArtifactVersion( "2.0" ), false ),
+            true ) );
+        assertEquals( new DefaultArtifactVersion( "3.0" ), instance.getNewestUpdate( of( MAJOR ), false ) );
+        assertEquals( new DefaultArtifactVersion( "2.0" ), instance.getOldestUpdate( of( MAJOR ), true ) );
+        assertNull( instance.getNewestUpdate( of( MINOR ), false ) );
+
+        instance.getVersions( true )[0] = null;
+        assertEquals( new DefaultArtifactVersion( "1.0" ), instance.getVersions( true )[0] );
+    }
+
+    @Test
+    public void testUpdatesFollowTheCurrentVersion()
+        throws Exception
+    {
+        ArtifactVersion[] versions = versions( "1.0", "1.0.1", "1.1", "1.2", "2.0" );
+        final DefaultArtifact artifact =
+            new DefaultArtifact( "group", "artifact", VersionRange.createFromVersionSpec( "1.0" ), "foo", "bar",
+                                 "jar", new DefaultArtifactHandler() );
+        ArtifactVersions instance =
+            new ArtifactVersions( artifact, Arrays.asList( versions ), new MavenVersionComparator() );
+        assertEquals( new DefaultArtifactVersion( "1.1" ), instance.getOldestUpdate( of( MINOR ) ) );
+        assertEquals( new DefaultArtifactVersion( "1.2" ), instance.getNewestUpdate( of( MINOR ) ) );
+        assertArrayEquals( versions( "1.0.1", "1.1", "1.2", "2.0" ), instance.getAllUpdates( empty() ) );
+
+        instance.getAllUpdates( empty() )[0] = null;
+        assertEquals( new DefaultArtifactVersion( "1.0.1" ), instance.getOldestUpdate( empty() ) );
+
+        instance.setCurrentVersion( "1.1" );
+        assertEquals( new DefaultArtifactVersion( "1.2" ), instance.getOldestUpdate( of( MINOR ) ) );
+        assertArrayEquals( versions( "1.2", "2.0" ), instance.getAllUpdates( empty() ) );
+
+        instance.setCurrentVersion( (String) null );
+        assertNull( instance.getNewestUpdate( empty() ) );
+    }
+
     private ArtifactVersion[] versions( String... versions )
     {
         ArtifactVersion[] artifactVersions = new ArtifactVersion[versions.length];
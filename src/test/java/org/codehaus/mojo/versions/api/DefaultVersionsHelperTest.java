@@ -19,10 +19,23 @@ package org.codehaus.mojo.versions.api;
  * under the License.
  */
 
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.maven.artifact.Artifact;
@@ -35,6 +48,8 @@ import org.apache.maven.artifact.resolver.DefaultArtifactResolver;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
@@ -44,25 +59,41 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.artifact.MavenMetadataSource;
 import org.apache.maven.repository.RepositorySystem;
 import org.apache.maven.settings.Settings;
+import org.apache.maven.wagon.StreamingWagon;
+import org.codehaus.mojo.versions.PluginUpdatesDetails;
 import org.codehaus.mojo.versions.Property;
 import org.codehaus.mojo.versions.model.IgnoreVersion;
 import org.codehaus.mojo.versions.model.Rule;
 import org.codehaus.mojo.versions.model.RuleSet;
 import org.codehaus.mojo.versions.ordering.VersionComparators;
+import org.codehaus.mojo.versions.utils.DependencyBuilder;
+import org.codehaus.mojo.versions.utils.DependencyComparator;
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -70,6 +101,7 @@ import static org.mockito.Mockito.when;
  */
 public class DefaultVersionsHelperTest extends AbstractMojoTestCase
 {
+    private static final long LOOKUP_TIMEOUT = 200L;
 
     @Test
     public void testPerRuleVersionsIgnored() throws Exception
@@ -137,6 +169,54 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
         assertThat( actual, hasItems( one, two, three, illegal ) );
     }
 
+    @Test
+    public void testAssociatedVersionsAreIntersectedOnce() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        final Artifact core = mockArtifact( "core" );
+        final Artifact api = mockArtifact( "api" );
+        final ArtifactVersion one = new DefaultArtifactVersion( "1.0" );
+        final ArtifactVersion three = new DefaultArtifactVersion( "3.0" );
+        when( metadataSource.retrieveAvailableVersions( same( core ), any( ArtifactRepository.class ), anyList() ) )
+            .thenReturn( new ArrayList<>( asList( one, new DefaultArtifactVersion( "2.0" ), three,
+                                                  new DefaultArtifactVersion( "4.0" ) ) ) );
+        when( metadataSource.retrieveAvailableVersions( same( api ), any( ArtifactRepository.class ), anyList() ) )
+            .thenReturn( new ArrayList<>( asList( new DefaultArtifactVersion( "0.9" ),
+                                                  new DefaultArtifactVersion( "1.0.0" ),
+                                                  new DefaultArtifactVersion( "3.0" ),
+                                                  new DefaultArtifactVersion( "3.1" ) ) ) );
+        VersionsHelper helper = createHelper( metadataSource );
+
+        Set<ArtifactAssociation> associations = new TreeSet<>( asList(
+            new DefaultArtifactAssociation( core, false ), new DefaultArtifactAssociation( api, false ) ) );
+        List<ArtifactVersion> versions = helper.lookupAssociatedVersions( associations );
+        assertThat( versions.stream().map( ArtifactVersion::toString ).collect( Collectors.toList() ),
+                    contains( "1.0.0", "3.0" ) );
+
+        assertThat( helper.lookupAssociatedVersions( new HashSet<>( associations ) ), sameInstance( versions ) );
+        assertThat( helper.lookupAssociatedVersions( Collections.emptySet() ), empty() );
+    }
+
+    @Test
+    public void testCommonVersionsKeepTheirOrder()
+    {
+        final ArtifactVersion two = new DefaultArtifactVersion( "2.0" );
+        final ArtifactVersion one = new DefaultArtifactVersion( "1.0" );
+        final ArtifactVersion alsoOne = new DefaultArtifactVersion( "1" );
+        List<ArtifactVersion> common = DefaultVersionsHelper.retainCommonVersions(
+            asList( two, new DefaultArtifactVersion( "1.5" ), one, alsoOne ),
+            new ArtifactVersion[] {new DefaultArtifactVersion( "1.0.0" ), new DefaultArtifactVersion( "2" )} );
+        assertThat( common, contains( sameInstance( two ), sameInstance( one ), sameInstance( alsoOne ) ) );
+    }
+
+    private static Artifact mockArtifact( String artifactId )
+    {
+        final Artifact artifact = mock( Artifact.class );
+        when( artifact.getGroupId() ).thenReturn( "org.example" );
+        when( artifact.getArtifactId() ).thenReturn( artifactId );
+        return artifact;
+    }
+
     @Test
     public void testWildcardMatching()
         throws Exception
@@ -170,6 +250,62 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
     }
 
 
+    @Test
+    public void testBestFitRuleCacheIsThreadSafe()
+        throws Exception
+    {
+        final String[][] artifacts = {{"net.foo", "bar"}, {"org.apache.maven", "plugins"},
+            {"com.mycompany.custom.maven", "plugins"}, {"com.mycompany.maven.plugins", "plugins"},
+            {"com.mycompany.maven", "new-maven-plugin"}, {"com.mycompany.maven", "old-maven-plugin"}};
+        final DefaultVersionsHelper reference = createHelper();
+        final DefaultVersionsHelper helper = createHelper();
+        final int threads = 16;
+        final int iterations = 2000;
+        final int repeatEvery = 50;
+        final CountDownLatch start = new CountDownLatch( 1 );
+        final ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for ( int t = 0; t < threads; t++ )
+            {
+                final int offset = t;
+                results.add( executor.submit( () ->
+                {
+                    start.await();
+                    for ( int i = 0; i < iterations; i++ )
+                    {
+                        String[] artifact = artifacts[( i + offset ) % artifacts.length];
+                        // a different artifact on each iteration, so that entries are added concurrently
+                        String artifactId = artifact[1] + ( i % repeatEvery == 0 ? "" : "-" + i );
+                        if ( !Objects.equals( describe( helper.getBestFitRule( artifact[0], artifactId ) ),
+                                              describe( reference.getBestFitRule( artifact[0], artifactId ) ) ) )
+                        {
+                            return false;
+                        }
+                    }
+                    return true;
+                } ) );
+            }
+            start.countDown();
+            for ( Future<Boolean> result : results )
+            {
+                assertTrue( result.get( 1, TimeUnit.MINUTES ) );
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertNull( helper.getBestFitRule( "net.foo", "bar" ) );
+    }
+
+    private static String describe( Rule rule )
+    {
+        return rule == null ? null
+            : rule.getGroupId() + ':' + rule.getArtifactId() + ':' + rule.getComparisonMethod();
+    }
+
     @Test
     public void testMVERSIONS159ExcludedAndNotIncluded()
         throws Exception
@@ -186,6 +322,116 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
         assertTrue( result.isEmpty() );
     }
 
+    @Test
+    public void testPropertyAssociationsAreLookedUpTogether() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        final CountDownLatch lookups = new CountDownLatch( 3 );
+        when( metadataSource.retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ),
+                                                        anyList() ) )
+            .thenAnswer( invocation ->
+            {
+                // the three distinct artifacts are only all looked up if they are looked up concurrently
+                lookups.countDown();
+                assertTrue( lookups.await( 10, TimeUnit.SECONDS ) );
+                Artifact artifact = invocation.getArgument( 0 );
+                return new ArrayList<>( asList( new DefaultArtifactVersion( "1.0" ),
+                                                new DefaultArtifactVersion( "2.0" ),
+                                                new DefaultArtifactVersion( "shared".equals(
+                                                    artifact.getArtifactId() ) ? "3.0" : "3.1" ) ) );
+            } );
+        VersionsHelper helper = createHelper( metadataSource );
+
+        Dependency shared = DependencyBuilder.newBuilder().withGroupId( "group" ).withArtifactId( "shared" )
+                .withVersion( "1.0" ).build();
+        Property foo = new Property( "foo.version" );
+        foo.setDependencies( new Dependency[] {shared, DependencyBuilder.newBuilder().withGroupId( "group" )
+                .withArtifactId( "foo" ).withVersion( "1.0" ).build()} );
+        Property bar = new Property( "bar.version" );
+        bar.setDependencies( new Dependency[] {shared, DependencyBuilder.newBuilder().withGroupId( "group" )
+                .withArtifactId( "bar" ).withVersion( "1.0" ).build()} );
+        MavenProject project = new MavenProject();
+        project.getProperties().setProperty( "foo.version", "1.0" );
+        project.getProperties().setProperty( "bar.version", "1.0" );
+
+        Map<Property, PropertyVersions> result =
+            helper.getVersionPropertiesMap( project, new Property[] {foo, bar}, null, null, false );
+
+        assertThat( result.get( foo ).getNewestVersion( null, null ).toString(), is( "2.0" ) );
+        assertThat( result.get( bar ).getAssociations().length, is( 2 ) );
+        verify( metadataSource, times( 1 ) )
+            .retrieveAvailableVersions( argThat( a -> "shared".equals( a.getArtifactId() ) ),
+                                        any( ArtifactRepository.class ), anyList() );
+    }
+
+    @Test
+    public void testPropertyAssociationTimingOutIsNotCached() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        final CountDownLatch slow = new CountDownLatch( 1 );
+        when( metadataSource.retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ),
+                                                        anyList() ) )
+            .thenAnswer( invocation ->
+            {
+                Artifact artifact = invocation.getArgument( 0 );
+                if ( "slow".equals( artifact.getArtifactId() ) )
+                {
+                    // the slow association only completes once the first lookup has timed out
+                    slow.await( 10, TimeUnit.SECONDS );
+                }
+                return new ArrayList<>( asList( new DefaultArtifactVersion( "1.0" ),
+                                                new DefaultArtifactVersion( "2.0" ) ) );
+            } );
+        VersionsHelper helper = createHelper( metadataSource, LOOKUP_TIMEOUT );
+
+        Property foo = new Property( "foo.version" );
+        foo.setDependencies( new Dependency[] {
+            DependencyBuilder.newBuilder().withGroupId( "group" ).withArtifactId( "fast" ).withVersion( "1.0" )
+                .build(),
+            DependencyBuilder.newBuilder().withGroupId( "group" ).withArtifactId( "slow" ).withVersion( "1.0" )
+                .build()} );
+        MavenProject project = new MavenProject();
+        project.getProperties().setProperty( "foo.version", "1.0" );
+
+        PropertyVersions timedOut =
+            helper.getVersionPropertiesMap( project, new Property[] {foo}, null, null, false ).get( foo );
+        assertThat( timedOut.isUnknown(), is( true ) );
+        assertThat( timedOut.getVersions( true ).length, is( 0 ) );
+        slow.countDown();
+
+        // nothing was cached for the timed out association, so it is looked up again
+        PropertyVersions result =
+            helper.getVersionPropertiesMap( project, new Property[] {foo}, null, null, false ).get( foo );
+        assertThat( result.isUnknown(), is( false ) );
+        assertThat( result.getNewestVersion( null, null ).toString(), is( "2.0" ) );
+    }
+
+    @Test
+    public void testPropertyVersionsWithAndWithoutSnapshots() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        when( metadataSource.retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ),
+                                                        anyList() ) )
+            .thenAnswer( invocation -> new ArrayList<>( asList( new DefaultArtifactVersion( "2.0-SNAPSHOT" ),
+                                                                new DefaultArtifactVersion( "1.1" ),
+                                                                new DefaultArtifactVersion( "1.0" ),
+                                                                new DefaultArtifactVersion( "1.2-SNAPSHOT" ) ) ) );
+        DefaultVersionsHelper helper = createHelper( metadataSource );
+        PropertyVersionsBuilder builder = new PropertyVersionsBuilder( null, "foo.version", helper );
+        builder.addAssociation( helper.createDependencyArtifact( "group", "foo", "1.0", "jar", null, null ), false );
+        PropertyVersions versions = builder.newPropertyVersions();
+
+        assertThat( Arrays.stream( versions.getVersions( true ) ).map( ArtifactVersion::toString )
+                        .collect( Collectors.toList() ), contains( "1.0", "1.1", "1.2-SNAPSHOT", "2.0-SNAPSHOT" ) );
+        assertThat( Arrays.stream( versions.getVersions( false ) ).map( ArtifactVersion::toString )
+                        .collect( Collectors.toList() ), contains( "1.0", "1.1" ) );
+
+        // callers are free to modify the returned arrays
+        versions.getVersions( false )[0] = null;
+        assertThat( versions.getVersions( false )[0].toString(), is( "1.0" ) );
+        assertThat( versions.getNewestVersion( (ArtifactVersion) null, null, false ).toString(), is( "1.1" ) );
+    }
+
     @Test
     public void testIsClasspathUriDetectsClassPathProtocol() throws Exception
     {
@@ -205,6 +451,91 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
     }
 
 
+    @Test
+    public void testPluginsSharingDependenciesAreLookedUpTogether() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        when( metadataSource.retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ),
+                                                        anyList() ) )
+            .thenAnswer( invocation -> new ArrayList<>( asList( new DefaultArtifactVersion( "1.0" ),
+                                                                new DefaultArtifactVersion( "2.0" ) ) ) );
+        VersionsHelper helper = createHelper( metadataSource );
+
+        Dependency shared = DependencyBuilder.newBuilder().withGroupId( "group" ).withArtifactId( "shared" )
+                .withVersion( "1.0" ).build();
+        Plugin surefire = plugin( "maven-surefire-plugin", shared );
+        Plugin failsafe = plugin( "maven-failsafe-plugin", shared,
+                                  DependencyBuilder.newBuilder().withGroupId( "group" ).withArtifactId( "other" )
+                                          .withVersion( "1.0" ).build() );
+
+        Map<Plugin, PluginUpdatesDetails> updates =
+            helper.lookupPluginsUpdates( new HashSet<>( asList( surefire, failsafe ) ), false );
+
+        assertThat( updates.get( surefire ).getDependencyVersions().keySet(), hasSize( 1 ) );
+        assertThat( updates.get( failsafe ).getDependencyVersions().keySet(), hasSize( 2 ) );
+        assertThat( updates.get( failsafe ).getArtifactVersions().getNewestVersion( null, null )
+                        .toString(), is( "2.0" ) );
+        verify( metadataSource, times( 1 ) )
+            .retrieveAvailableVersions( argThat( a -> "shared".equals( a.getArtifactId() ) ),
+                                        any( ArtifactRepository.class ), anyList() );
+    }
+
+    @Test
+    public void testDependencyUpdatesAreStreamedAsTheyComplete() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        when( metadataSource.retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ),
+                                                        anyList() ) )
+            .thenAnswer( invocation -> new ArrayList<>( singletonList( new DefaultArtifactVersion( "2.0" ) ) ) );
+        VersionsHelper helper = createHelper( metadataSource );
+
+        Set<Dependency> dependencies = new TreeSet<>( new DependencyComparator() );
+        for ( String artifactId : asList( "c", "a", "b" ) )
+        {
+            dependencies.add( DependencyBuilder.newBuilder().withGroupId( "group" ).withArtifactId( artifactId )
+                                  .withVersion( "1.0" ).build() );
+        }
+        List<String> streamed = new ArrayList<>();
+        Map<Dependency, ArtifactVersions> updates = helper.lookupDependenciesUpdates( dependencies, false,
+            ( dependency, versions ) -> streamed.add( versions.getArtifact().getArtifactId() ) );
+
+        assertThat( streamed, containsInAnyOrder( "a", "b", "c" ) );
+        assertThat( updates.keySet().stream().map( Dependency::getArtifactId ).collect( Collectors.toList() ),
+                    contains( "a", "b", "c" ) );
+    }
+
+    @Test
+    public void testPrefetchedVersionsAreNotLookedUpAgain() throws Exception
+    {
+        final ArtifactMetadataSource metadataSource = mock( ArtifactMetadataSource.class );
+        when( metadataSource.retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ),
+                                                        anyList() ) )
+            .thenAnswer( invocation -> new ArrayList<>( singletonList( new DefaultArtifactVersion( "2.0" ) ) ) );
+        VersionsHelper helper = createHelper( metadataSource );
+
+        helper.prefetchArtifactVersions( asList( helper.createDependencyArtifact( "group", "a", null, "pom", null,
+                                                                                  null ),
+                                                 helper.createDependencyArtifact( "group", "b", null, "pom", null,
+                                                                                  null ) ), false );
+        ArtifactVersions versions =
+            helper.lookupArtifactVersions( helper.createDependencyArtifact( "group", "a", "1.0", "jar", null,
+                                                                            null ), false );
+
+        assertThat( versions.getNewestVersion( null, null ).toString(), is( "2.0" ) );
+        verify( metadataSource, times( 2 ) )
+            .retrieveAvailableVersions( any( Artifact.class ), any( ArtifactRepository.class ), anyList() );
+    }
+
+    private static Plugin plugin( String artifactId, Dependency... dependencies )
+    {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId( "org.apache.maven.plugins" );
+        plugin.setArtifactId( artifactId );
+        plugin.setVersion( "1.0" );
+        plugin.setDependencies( asList( dependencies ) );
+        return plugin;
+    }
+
     private DefaultVersionsHelper createHelper()
         throws Exception
     {
@@ -212,6 +543,12 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
     }
 
     private DefaultVersionsHelper createHelper( ArtifactMetadataSource metadataSource ) throws Exception
+    {
+        return createHelper( metadataSource, 0L );
+    }
+
+    private DefaultVersionsHelper createHelper( ArtifactMetadataSource metadataSource, long lookupTimeout )
+        throws Exception
     {
         final String resourcePath = "/" + getClass().getPackage().getName().replace( '.', '/' ) + "/rules.xml";
         final String rulesUri = getClass().getResource( resourcePath ).toExternalForm();
@@ -229,7 +566,8 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
                 .withRulesUri( rulesUri )
                 .withLog( mock( Log.class ) )
                 .withMavenSession( mock( MavenSession.class ) )
-                .withMojoExecution( mock( MojoExecution.class ) ).build();
+                .withMojoExecution( mock( MojoExecution.class ) )
+                .withLookupTimeout( lookupTimeout ).build();
     }
 
     @Test
@@ -287,4 +625,23 @@ public class DefaultVersionsHelperTest extends AbstractMojoTestCase
         assertThat( ruleSet.getIgnoreVersions().stream().map( IgnoreVersion::getVersion )
                 .collect( Collectors.toList() ), containsInAnyOrder( ".*-M.", ".*-SNAPSHOT", "1.0.0" ) );
     }
+
+    @Test
+    public void testRulesAreStreamedFromStreamingWagons() throws Exception
+    {
+        StreamingWagon wagon = mock( StreamingWagon.class );
+        doAnswer( invocation ->
+        {
+            invocation.getArgument( 1, OutputStream.class ).write(
+                "<ruleset comparisonMethod=\"numeric\"/>".getBytes( StandardCharsets.UTF_8 ) );
+            return null;
+        } ).when( wagon ).getToStream( eq( "rules.xml" ), any( OutputStream.class ) );
+        when( wagon.getIfNewerToStream( eq( "rules.xml" ), any( OutputStream.class ), anyLong() ) )
+            .thenReturn( false );
+
+        assertThat( new String( DefaultVersionsHelper.getRuleSetXml( wagon, "rules.xml", 0L ),
+                                StandardCharsets.UTF_8 ), is( "<ruleset comparisonMethod=\"numeric\"/>" ) );
+        assertThat( DefaultVersionsHelper.getRuleSetXml( wagon, "rules.xml", 1L ), nullValue() );
+        verify( wagon, never() ).get( anyString(), any( File.class ) );
+    }
 }
@@ -0,0 +1,120 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Collections;
+import java.util.regex.PatternSyntaxException;
+
+import org.codehaus.mojo.versions.model.IgnoreVersion;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class IgnoredVersionsMatcherTest
+{
+    @Test
+    public void testExactAndRegexVersions()
+    {
+        IgnoreVersion snapshots = ignoreVersion( "regex", ".+-SNAPSHOT" );
+        IgnoredVersionsMatcher matcher = new IgnoredVersionsMatcher( asList(
+            ignoreVersion( "exact", "1.0.1" ), snapshots, ignoreVersion( "regex", ".+-M\\d+" ) ) );
+
+        assertThat( matcher.matches( "1.0.1" ), is( true ) );
+        assertThat( matcher.matches( "1.0.10" ), is( false ) );
+        assertThat( matcher.matches( "2.0-SNAPSHOT" ), is( true ) );
+        assertThat( matcher.matches( "2.0-M3" ), is( true ) );
+        assertThat( matcher.matches( "2.0-M3-1" ), is( false ) );
+        assertThat( matcher.findMatch( "2.0-SNAPSHOT" ), sameInstance( snapshots ) );
+        assertThat( matcher.findMatch( "2.0" ), nullValue() );
+    }
+
+    @Test
+    public void testAlternativesAreMatchedAsAWhole()
+    {
+        IgnoredVersionsMatcher matcher = new IgnoredVersionsMatcher( asList(
+            ignoreVersion( "regex", "1\\.0|1\\.1" ), ignoreVersion( "regex", "2\\..*" ) ) );
+
+        assertThat( matcher.matches( "1.1" ), is( true ) );
+        assertThat( matcher.matches( "2.5" ), is( true ) );
+        assertThat( matcher.matches( "1.10" ), is( false ) );
+    }
+
+    @Test
+    public void testGroupReferencesAreKeptApart()
+    {
+        IgnoredVersionsMatcher matcher = new IgnoredVersionsMatcher( asList(
+            ignoreVersion( "regex", "(\\d)\\.0" ), ignoreVersion( "regex", "(\\d)\\.\\1" ) ) );
+
+        assertThat( matcher.matches( "3.3" ), is( true ) );
+        assertThat( matcher.matches( "3.0" ), is( true ) );
+        assertThat( matcher.matches( "3.4" ), is( false ) );
+    }
+
+    @Test
+    public void testNamedGroupsAreKeptApart()
+    {
+        IgnoredVersionsMatcher matcher = new IgnoredVersionsMatcher( asList(
+            ignoreVersion( "regex", "(?<major>\\d)\\.0" ), ignoreVersion( "regex", "(?<major>\\d)-beta" ),
+            ignoreVersion( "regex", "(?i).+-rc" ) ) );
+
+        assertThat( matcher.matches( "3.0" ), is( true ) );
+        assertThat( matcher.matches( "3-beta" ), is( true ) );
+        assertThat( matcher.matches( "3-RC" ), is( true ) );
+        assertThat( matcher.matches( "3.1" ), is( false ) );
+    }
+
+    @Test
+    public void testInvalidRegexIsRejectedOnItsOwn()
+    {
+        try
+        {
+            new IgnoredVersionsMatcher( asList(
+                ignoreVersion( "regex", "2\\..*" ), ignoreVersion( "regex", "1.0)|(.*" ) ) );
+            fail( "an unbalanced regex must not be combined with the others" );
+        }
+        catch ( PatternSyntaxException e )
+        {
+            assertThat( e.getPattern(), is( "1.0)|(.*" ) );
+        }
+    }
+
+    @Test
+    public void testEmptyAdditionsShareTheMatcher()
+    {
+        IgnoredVersionsMatcher matcher =
+            new IgnoredVersionsMatcher( Collections.singletonList( ignoreVersion( "exact", "1.0" ) ) );
+        assertThat( matcher.with( Collections.emptyList() ), sameInstance( matcher ) );
+        assertThat( matcher.with( Collections.singletonList( ignoreVersion( "exact", "2.0" ) ) ).matches( "1.0" ),
+                    is( true ) );
+    }
+
+    private static IgnoreVersion ignoreVersion( String type, String version )
+    {
+        IgnoreVersion ignoreVersion = new IgnoreVersion();
+        ignoreVersion.setType( type );
+        ignoreVersion.setVersion( version );
+        return ignoreVersion;
+    }
+}
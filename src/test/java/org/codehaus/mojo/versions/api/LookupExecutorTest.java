@@ -0,0 +1,221 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class LookupExecutorTest
+{
+    private static final int WINDOW = 16;
+
+    private static final long LATENCY = 1000;
+
+    private static final long TIMEOUT_MILLIS = 100;
+
+    private static final long SLOW_MILLIS = 10000;
+
+    @Test
+    public void testFixedSizeIsNotAdapted()
+    {
+        LookupExecutor executor = new LookupExecutor( 3, false );
+        recordWindow( executor, LATENCY, false );
+        assertThat( executor.getThreads(), is( 3 ) );
+    }
+
+    @Test
+    public void testAdaptiveGrowsWhileLatencyIsFlat()
+    {
+        LookupExecutor executor = new LookupExecutor( 7, true );
+        assertThat( executor.getThreads(), is( LookupExecutor.DEFAULT_THREADS ) );
+        recordWindow( executor, LATENCY, false );
+        assertThat( executor.getThreads(), is( 6 ) );
+        recordWindow( executor, LATENCY, false );
+        recordWindow( executor, LATENCY, false );
+        assertThat( executor.getThreads(), is( 7 ) );
+    }
+
+    @Test
+    public void testAdaptiveBacksOffWhenLatencyRises()
+    {
+        LookupExecutor executor = new LookupExecutor( 10, true );
+        recordWindow( executor, LATENCY, false );
+        recordWindow( executor, LATENCY * 2, false );
+        assertThat( executor.getThreads(), is( LookupExecutor.DEFAULT_THREADS ) );
+    }
+
+    @Test
+    public void testAdaptiveBacksOffOnErrors()
+    {
+        LookupExecutor executor = new LookupExecutor( 10, true );
+        executor.recordLookup( LATENCY, true );
+        recordWindow( executor, LATENCY, false );
+        assertThat( executor.getThreads(), is( 2 ) );
+    }
+
+    @Test
+    public void testNestedTasksDoNotExhaustThePool() throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( 1, false );
+        List<Callable<Integer>> outer = new ArrayList<>();
+        for ( int i = 0; i < 2; i++ )
+        {
+            final int value = i;
+            Callable<Integer> inner = () -> value;
+            outer.add( () -> executor.invokeAll( Collections.singletonList( inner ) ).get( 0 ).get() );
+        }
+        List<Integer> results = new ArrayList<>();
+        for ( Future<Integer> future : executor.invokeAll( outer ) )
+        {
+            results.add( future.get() );
+        }
+        assertThat( results, contains( 0, 1 ) );
+    }
+
+    @Test
+    public void testVirtualThreadsFallBackToThePool() throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( 2, false, true );
+        assertThat( executor.isVirtual(), is( isVirtualThreadsSupported() ) );
+        Callable<Integer> task = () -> 1;
+        assertThat( executor.invokeAll( Collections.singletonList( task ) ).get( 0 ).get(), is( 1 ) );
+    }
+
+    @Test
+    public void testPermitsAreOnlyNeededForVirtualThreads() throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( 2, false, false );
+        assertThat( executor.acquirePermits( Collections.singletonList(
+            new MavenArtifactRepository( "central", "https://repo.maven.apache.org/maven2",
+                                         new DefaultRepositoryLayout(), null, null ) ) ), is( empty() ) );
+    }
+
+    @Test
+    public void testTimeoutCancelsSlowTasks() throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( 2, false );
+        Callable<Integer> fast = () -> 1;
+        Callable<Integer> slow = () ->
+        {
+            Thread.sleep( SLOW_MILLIS );
+            return 2;
+        };
+        List<Integer> completed = new ArrayList<>();
+        List<Future<Integer>> futures = executor.invokeAll( Arrays.asList( fast, slow ),
+                                                            ( future, index ) -> completed.add( index ),
+                                                            TIMEOUT_MILLIS, 0 );
+        assertThat( futures.get( 0 ).get(), is( 1 ) );
+        assertThat( futures.get( 1 ).isCancelled(), is( true ) );
+        assertThat( completed, containsInAnyOrder( 0, 1 ) );
+    }
+
+    @Test
+    public void testBudgetCancelsPendingTasks() throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( 1, false );
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for ( int i = 0; i < 3; i++ )
+        {
+            tasks.add( () ->
+            {
+                Thread.sleep( SLOW_MILLIS );
+                return 0;
+            } );
+        }
+        long start = System.nanoTime();
+        List<Future<Integer>> futures = executor.invokeAll( tasks, 0, TIMEOUT_MILLIS );
+        assertThat( TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ) < SLOW_MILLIS, is( true ) );
+        for ( Future<Integer> future : futures )
+        {
+            assertThat( future.isCancelled(), is( true ) );
+        }
+    }
+
+    @Test( timeout = SLOW_MILLIS )
+    public void testTimeoutCancelsTasksQueuedBehindHungTasks() throws Exception
+    {
+        LookupExecutor executor = new LookupExecutor( 1, false );
+        AtomicBoolean released = new AtomicBoolean();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for ( int i = 0; i < 2; i++ )
+        {
+            tasks.add( () ->
+            {
+                // hangs like a lookup ignoring its cancellation
+                while ( !released.get() )
+                {
+                    LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( TIMEOUT_MILLIS ) );
+                }
+                return 0;
+            } );
+        }
+        try
+        {
+            List<Future<Integer>> futures = executor.invokeAll( tasks, TIMEOUT_MILLIS, 0 );
+            for ( Future<Integer> future : futures )
+            {
+                assertThat( future.isCancelled(), is( true ) );
+            }
+        }
+        finally
+        {
+            released.set( true );
+        }
+    }
+
+    private static boolean isVirtualThreadsSupported()
+    {
+        try
+        {
+            Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ).invoke( null );
+            return true;
+        }
+        catch ( ReflectiveOperationException e )
+        {
+            return false;
+        }
+    }
+
+    private static void recordWindow( LookupExecutor executor, long latency, boolean failed )
+    {
+        for ( int i = 0; i < WINDOW; i++ )
+        {
+            executor.recordLookup( latency, failed );
+        }
+    }
+}
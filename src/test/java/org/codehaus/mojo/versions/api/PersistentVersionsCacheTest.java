@@ -0,0 +1,196 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PersistentVersionsCacheTest
+{
+    private static final long TTL = TimeUnit.HOURS.toMillis( 1 );
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testEntriesSurviveSave() throws Exception
+    {
+        File file = new File( tempFolder.getRoot(), "cache/versions.cache" );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, TTL, 10, false );
+        assertThat( cache.get( "group:artifact" ), nullValue() );
+        cache.put( "group:artifact", asList( "1.0", "1.1" ) );
+        cache.save();
+
+        PersistentVersionsCache reloaded = new PersistentVersionsCache( file, TTL, 10, false );
+        assertThat( reloaded.get( "group:artifact" ), contains( "1.0", "1.1" ) );
+        assertThat( reloaded.getHits(), is( 1L ) );
+        assertThat( reloaded.getMisses(), is( 0L ) );
+    }
+
+    @Test
+    public void testExpiredEntriesAreIgnored() throws Exception
+    {
+        File file = new File( tempFolder.getRoot(), "versions.cache" );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, -1, 10, false );
+        cache.put( "group:artifact", asList( "1.0", "1.1" ) );
+        assertThat( cache.get( "group:artifact" ), nullValue() );
+        assertThat( cache.getMisses(), is( 1L ) );
+    }
+
+    @Test
+    public void testNegativeEntriesHaveTheirOwnTimeToLive() throws Exception
+    {
+        File file = new File( tempFolder.getRoot(), "versions.cache" );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, TTL, TTL, 10, false );
+        cache.put( "group:missing", Collections.emptyList() );
+        cache.put( "group:artifact", asList( "1.0" ) );
+        cache.save();
+
+        PersistentVersionsCache reloaded = new PersistentVersionsCache( file, TTL, TTL, 10, false );
+        assertThat( reloaded.get( "group:missing" ), is( empty() ) );
+        assertThat( reloaded.getNegativeHits(), is( 1L ) );
+
+        PersistentVersionsCache expiring = new PersistentVersionsCache( file, TTL, -1, 10, false );
+        assertThat( expiring.get( "group:missing" ), nullValue() );
+        assertThat( expiring.get( "group:artifact" ), contains( "1.0" ) );
+        assertThat( expiring.getNegativeHits(), is( 0L ) );
+    }
+
+    @Test
+    public void testRefreshIgnoresExistingEntries() throws Exception
+    {
+        File file = new File( tempFolder.getRoot(), "versions.cache" );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, TTL, 10, false );
+        cache.put( "group:artifact", asList( "1.0", "1.1" ) );
+        cache.save();
+
+        PersistentVersionsCache refreshing = new PersistentVersionsCache( file, TTL, 10, true );
+        assertThat( refreshing.get( "group:artifact" ), nullValue() );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted()
+    {
+        File file = new File( tempFolder.getRoot(), "versions.cache" );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, TTL, 2, false );
+        cache.put( "group:a", asList( "1.0" ) );
+        cache.put( "group:b", asList( "1.0" ) );
+        cache.get( "group:a" );
+        cache.put( "group:c", asList( "1.0" ) );
+
+        assertThat( cache.get( "group:a" ), not( nullValue() ) );
+        assertThat( cache.get( "group:b" ), nullValue() );
+        assertThat( cache.get( "group:c" ), not( nullValue() ) );
+    }
+
+    @Test
+    public void testCorruptFileIsTreatedAsEmpty() throws Exception
+    {
+        File file = tempFolder.newFile( "versions.cache" );
+        Files.write( file.toPath(), "garbage".getBytes() );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, TTL, 10, false );
+        assertThat( cache.get( "group:artifact" ), nullValue() );
+    }
+
+    @Test
+    public void testKeyDoesNotDependOnRepositoryOrder()
+    {
+        DefaultArtifact artifact = new DefaultArtifact( "group", "artifact", "1.0", "compile", "jar", null,
+                                                        new DefaultArtifactHandler() );
+        ArtifactRepository central = repository( "central", "https://repo.maven.apache.org/maven2" );
+        ArtifactRepository mirror = repository( "mirror", "https://mirror.example.com/maven2" );
+
+        assertThat( PersistentVersionsCache.key( artifact, asList( central, mirror ) ),
+                    is( PersistentVersionsCache.key( artifact, asList( mirror, central ) ) ) );
+        assertThat( PersistentVersionsCache.key( artifact, asList( central, mirror ) ),
+                    not( PersistentVersionsCache.key( artifact, asList( central ) ) ) );
+    }
+
+    private static ArtifactRepository repository( String id, String url )
+    {
+        return new MavenArtifactRepository( id, url, new DefaultRepositoryLayout(), null, null );
+    }
+
+    @Test
+    public void testSavedByEveryProjectAndReportedByTheLastOne() throws Exception
+    {
+        File file = new File( tempFolder.getRoot(), "versions.cache" );
+        Log log = mock( Log.class );
+        PersistentVersionsCache cache = new PersistentVersionsCache( file, TTL, 10, false );
+        cache.put( "group:artifact", asList( "1.0" ) );
+        cache.save( log, false );
+        assertThat( new PersistentVersionsCache( file, TTL, 10, false ).get( "group:artifact" ), contains( "1.0" ) );
+        verify( log, never() ).info( anyString() );
+
+        cache.put( "group:other", asList( "2.0" ) );
+        cache.save( log, true );
+        assertThat( new PersistentVersionsCache( file, TTL, 10, false ).get( "group:other" ), contains( "2.0" ) );
+        verify( log ).info( anyString() );
+    }
+
+    @Test
+    public void testSaveKeepsTheEntriesWrittenMeanwhile() throws Exception
+    {
+        File file = new File( tempFolder.getRoot(), "versions.cache" );
+        PersistentVersionsCache first = new PersistentVersionsCache( file, TTL, 10, false );
+        PersistentVersionsCache second = new PersistentVersionsCache( file, TTL, 10, false );
+        assertThat( first.get( "group:shared" ), nullValue() );
+        assertThat( second.get( "group:shared" ), nullValue() );
+        first.put( "group:first", asList( "1.0" ) );
+        first.put( "group:shared", asList( "1.0" ) );
+        first.save();
+        Thread.sleep( 1 );
+        second.put( "group:second", asList( "2.0" ) );
+        second.put( "group:shared", asList( "1.0", "2.0" ) );
+        second.save();
+        first.put( "group:other", asList( "3.0" ) );
+        first.save();
+
+        PersistentVersionsCache reloaded = new PersistentVersionsCache( file, TTL, 10, false );
+        assertThat( reloaded.get( "group:first" ), contains( "1.0" ) );
+        assertThat( reloaded.get( "group:second" ), contains( "2.0" ) );
+        assertThat( reloaded.get( "group:other" ), contains( "3.0" ) );
+        assertThat( reloaded.get( "group:shared" ), contains( "1.0", "2.0" ) );
+    }
+}
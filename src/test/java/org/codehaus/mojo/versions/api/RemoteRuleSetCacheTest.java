@@ -0,0 +1,147 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.codehaus.mojo.versions.model.RuleSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class RemoteRuleSetCacheTest
+{
+    private static final long TTL = TimeUnit.HOURS.toMillis( 1 );
+
+    private static final String URI = "https://example.com/rules.xml";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testRuleSetIsFetchedOncePerBuild() throws Exception
+    {
+        RemoteRuleSetCache cache = new RemoteRuleSetCache( tempFolder.getRoot(), -1 );
+        List<Long> fetches = new ArrayList<>();
+        RuleSet ruleSet = cache.getRuleSet( URI, fetcher( fetches, ruleSet( "maven" ) ), new SystemStreamLog() );
+        assertThat( cache.getRuleSet( URI, fetcher( fetches, ruleSet( "numeric" ) ), new SystemStreamLog() ),
+                    sameInstance( ruleSet ) );
+        assertThat( fetches, contains( 0L ) );
+    }
+
+    @Test
+    public void testFreshCopyIsUsedWithoutFetching() throws Exception
+    {
+        new RemoteRuleSetCache( tempFolder.getRoot(), TTL )
+            .getRuleSet( URI, fetcher( new ArrayList<>(), ruleSet( "maven" ) ), new SystemStreamLog() );
+
+        List<Long> fetches = new ArrayList<>();
+        RuleSet cached = new RemoteRuleSetCache( tempFolder.getRoot(), TTL )
+            .getRuleSet( URI, fetcher( fetches, ruleSet( "numeric" ) ), new SystemStreamLog() );
+        assertThat( cached.getComparisonMethod(), is( "maven" ) );
+        assertThat( fetches, empty() );
+    }
+
+    @Test
+    public void testStaleCopyIsRevalidated() throws Exception
+    {
+        new RemoteRuleSetCache( tempFolder.getRoot(), -1 )
+            .getRuleSet( URI, fetcher( new ArrayList<>(), ruleSet( "maven" ) ), new SystemStreamLog() );
+
+        List<Long> fetches = new ArrayList<>();
+        RuleSet notModified = new RemoteRuleSetCache( tempFolder.getRoot(), -1 )
+            .getRuleSet( URI, fetcher( fetches, null ), new SystemStreamLog() );
+        assertThat( notModified.getComparisonMethod(), is( "maven" ) );
+        assertThat( fetches.get( 0 ), greaterThan( 0L ) );
+
+        RuleSet modified = new RemoteRuleSetCache( tempFolder.getRoot(), -1 )
+            .getRuleSet( URI, fetcher( fetches, ruleSet( "numeric" ) ), new SystemStreamLog() );
+        assertThat( modified.getComparisonMethod(), is( "numeric" ) );
+    }
+
+    @Test
+    public void testStaleCopyIsUsedIfTheServerFails() throws Exception
+    {
+        new RemoteRuleSetCache( tempFolder.getRoot(), -1 )
+            .getRuleSet( URI, fetcher( new ArrayList<>(), ruleSet( "maven" ) ), new SystemStreamLog() );
+
+        RuleSet stale = new RemoteRuleSetCache( tempFolder.getRoot(), -1 ).getRuleSet( URI, ifModifiedSince ->
+        {
+            throw new MojoExecutionException( "Could not establish connection to " + URI );
+        }, new SystemStreamLog() );
+        assertThat( stale.getComparisonMethod(), is( "maven" ) );
+    }
+
+    @Test( expected = MojoExecutionException.class )
+    public void testFailureIsReportedWithoutCachedCopy() throws Exception
+    {
+        new RemoteRuleSetCache( tempFolder.getRoot(), TTL ).getRuleSet( URI, ifModifiedSince ->
+        {
+            throw new MojoExecutionException( "Could not establish connection to " + URI );
+        }, new SystemStreamLog() );
+    }
+
+    @Test
+    public void testCorruptCopyIsFetchedAgain() throws Exception
+    {
+        new RemoteRuleSetCache( tempFolder.getRoot(), TTL )
+            .getRuleSet( URI, fetcher( new ArrayList<>(), ruleSet( "maven" ) ), new SystemStreamLog() );
+        File[] files = tempFolder.getRoot().listFiles();
+        assertThat( files, arrayWithSize( 1 ) );
+        byte[] content = Files.readAllBytes( files[0].toPath() );
+        Files.write( files[0].toPath(), Arrays.copyOf( content, content.length - 2 ) );
+
+        List<Long> fetches = new ArrayList<>();
+        RuleSet fetched = new RemoteRuleSetCache( tempFolder.getRoot(), TTL )
+            .getRuleSet( URI, fetcher( fetches, ruleSet( "numeric" ) ), new SystemStreamLog() );
+        assertThat( fetched.getComparisonMethod(), is( "numeric" ) );
+        assertThat( fetches, contains( 0L ) );
+    }
+
+    private static RemoteRuleSetCache.RuleSetFetcher fetcher( List<Long> fetches, byte[] xml )
+    {
+        return ifModifiedSince ->
+        {
+            fetches.add( ifModifiedSince );
+            return xml;
+        };
+    }
+
+    private static byte[] ruleSet( String comparisonMethod )
+    {
+        return ( "<ruleset comparisonMethod=\"" + comparisonMethod + "\"/>" ).getBytes( StandardCharsets.UTF_8 );
+    }
+}
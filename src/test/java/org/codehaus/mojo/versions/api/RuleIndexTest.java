@@ -0,0 +1,162 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.codehaus.mojo.versions.model.Rule;
+import org.codehaus.mojo.versions.utils.RegexUtils;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class RuleIndexTest
+{
+    private static final String[] GROUP_IDS = {"org", "org.apache", "org.apache.maven", "org.apa", "com.foo",
+        "com.foo.bar", "org.codehaus.mojo"};
+
+    private static final String[] GROUP_ID_RULES = {"org", "org.apache", "org.apache.maven", "org.apa", "org.*",
+        "org.apache.*", "org.?pache", "*", "com.foo", "com.f*", "c?m.*.bar", "*.mojo", "org.codehaus.mojo"};
+
+    private static final String[] ARTIFACT_ID_RULES = {"*", "maven-core", "maven-*", "maven-???e", "bar", "b*",
+        "versions-maven-plugin"};
+
+    private static final String[] ARTIFACT_IDS = {"maven-core", "maven-plugin-api", "bar", "baz",
+        "versions-maven-plugin"};
+
+    private static final int ITERATIONS = 200;
+
+    private static final int MAX_RULES = 12;
+
+    @Test
+    public void testExactGroupIdOverridesWildcards()
+    {
+        Rule wildcard = rule( "org.*", "*" );
+        Rule exact = rule( "org.apache.maven", "*" );
+        RuleIndex index = new RuleIndex( asList( wildcard, exact ) );
+        assertThat( index.getBestFitRule( "org.apache.maven", "maven-core" ), sameInstance( exact ) );
+        assertThat( index.getBestFitRule( "org.codehaus", "maven-core" ), sameInstance( wildcard ) );
+        assertThat( index.getBestFitRule( "com.foo", "maven-core" ), nullValue() );
+    }
+
+    @Test
+    public void testGroupIdAppliesToChildGroupIds()
+    {
+        Rule parent = rule( "org.apache", "*" );
+        RuleIndex index = new RuleIndex( asList( parent ) );
+        assertThat( index.getBestFitRule( "org.apache.maven.plugins", "maven-core" ), sameInstance( parent ) );
+    }
+
+    @Test
+    public void testMatchesLinearScan()
+    {
+        Random random = new Random( 0 );
+        for ( int i = 0; i < ITERATIONS; i++ )
+        {
+            List<Rule> rules = new ArrayList<>();
+            for ( int j = random.nextInt( MAX_RULES ); j >= 0; j-- )
+            {
+                rules.add( rule( GROUP_ID_RULES[random.nextInt( GROUP_ID_RULES.length )],
+                                 ARTIFACT_ID_RULES[random.nextInt( ARTIFACT_ID_RULES.length )] ) );
+            }
+            RuleIndex index = new RuleIndex( rules );
+            for ( String groupId : GROUP_IDS )
+            {
+                for ( String artifactId : ARTIFACT_IDS )
+                {
+                    assertThat( rules + " " + groupId + ":" + artifactId,
+                                index.getBestFitRule( groupId, artifactId ),
+                                is( linearScan( rules, groupId, artifactId ) ) );
+                }
+            }
+        }
+    }
+
+    private static Rule rule( String groupId, String artifactId )
+    {
+        Rule rule = new Rule();
+        rule.setGroupId( groupId );
+        rule.setArtifactId( artifactId );
+        rule.setComparisonMethod( "maven" );
+        return rule;
+    }
+
+    /**
+     * The scan of the whole rule set which the index replaces.
+     */
+    private static Rule linearScan( List<Rule> rules, String groupId, String artifactId )
+    {
+        Rule bestFit = null;
+        int bestGroupIdScore = Integer.MAX_VALUE;
+        int bestArtifactIdScore = Integer.MAX_VALUE;
+        boolean exactGroupId = false;
+        boolean exactArtifactId = false;
+        for ( Rule rule : rules )
+        {
+            int groupIdScore = RegexUtils.getWildcardScore( rule.getGroupId() );
+            if ( groupIdScore > bestGroupIdScore )
+            {
+                continue;
+            }
+            boolean exactMatch = DefaultVersionsHelper.exactMatch( rule.getGroupId(), groupId );
+            boolean match = exactMatch || DefaultVersionsHelper.match( rule.getGroupId(), groupId );
+            if ( !match || ( exactGroupId && !exactMatch ) )
+            {
+                continue;
+            }
+            if ( bestGroupIdScore > groupIdScore )
+            {
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            bestGroupIdScore = groupIdScore;
+            if ( exactMatch && !exactGroupId )
+            {
+                exactGroupId = true;
+                bestArtifactIdScore = Integer.MAX_VALUE;
+                exactArtifactId = false;
+            }
+            int artifactIdScore = RegexUtils.getWildcardScore( rule.getArtifactId() );
+            if ( artifactIdScore > bestArtifactIdScore )
+            {
+                continue;
+            }
+            exactMatch = DefaultVersionsHelper.exactMatch( rule.getArtifactId(), artifactId );
+            match = exactMatch || DefaultVersionsHelper.match( rule.getArtifactId(), artifactId );
+            if ( !match || ( exactArtifactId && !exactMatch ) )
+            {
+                continue;
+            }
+            bestArtifactIdScore = artifactIdScore;
+            if ( exactMatch && !exactArtifactId )
+            {
+                exactArtifactId = true;
+            }
+            bestFit = rule;
+        }
+        return bestFit;
+    }
+}
@@ -0,0 +1,259 @@
+package org.codehaus.mojo.versions.api;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.metadata.ArtifactMetadataRetrievalException;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SessionVersionsCacheTest
+{
+    private static final int THREADS = 8;
+
+    private static final long RETRIEVAL_MILLIS = 50;
+
+    private final DefaultArtifact artifact =
+        new DefaultArtifact( "group", "artifact", "1.0", "compile", "jar", null, new DefaultArtifactHandler() );
+
+    @Test
+    public void testInstanceIsSharedBySession()
+    {
+        MavenSession session = mock( MavenSession.class );
+        when( session.getRepositorySession() ).thenReturn( new DefaultRepositorySystemSession() );
+
+        assertThat( SessionVersionsCache.getInstance( session ),
+                    sameInstance( SessionVersionsCache.getInstance( session ) ) );
+        assertThat( SessionVersionsCache.getInstance( null ),
+                    not( sameInstance( SessionVersionsCache.getInstance( null ) ) ) );
+    }
+
+    @Test
+    public void testConcurrentLookupsRetrieveOnce() throws Exception
+    {
+        SessionVersionsCache cache = new SessionVersionsCache();
+        AtomicInteger retrievals = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch( THREADS );
+        ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+        try
+        {
+            List<Future<List<ArtifactVersion>>> results = new ArrayList<>();
+            for ( int i = 0; i < THREADS; i++ )
+            {
+                results.add( executor.submit( () ->
+                {
+                    started.countDown();
+                    started.await();
+                    return cache.getAvailableVersions( artifact, Collections.emptyList(), () ->
+                    {
+                        retrievals.incrementAndGet();
+                        LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( RETRIEVAL_MILLIS ) );
+                        return versions( "1.0", "2.0" );
+                    } );
+                } ) );
+            }
+            for ( Future<List<ArtifactVersion>> result : results )
+            {
+                assertThat( result.get( 10, TimeUnit.SECONDS ),
+                            contains( hasToString( "1.0" ), hasToString( "2.0" ) ) );
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertThat( retrievals.get(), is( 1 ) );
+        assertThat( cache.getRetrievals(), is( 1L ) );
+        assertThat( cache.getHits() + cache.getCoalesced(), is( (long) THREADS - 1 ) );
+    }
+
+    @Test
+    public void testCompletedLookupsAreCountedAsHits() throws Exception
+    {
+        SessionVersionsCache cache = new SessionVersionsCache();
+        cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "1.0" ) );
+        cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "1.0" ) );
+        assertThat( cache.getRetrievals(), is( 1L ) );
+        assertThat( cache.getHits(), is( 1L ) );
+        assertThat( cache.getCoalesced(), is( 0L ) );
+    }
+
+    @Test
+    public void testReturnedVersionsAreCopies() throws Exception
+    {
+        SessionVersionsCache cache = new SessionVersionsCache();
+        cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "1.0", "2.0" ) ).clear();
+        assertThat( cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions() ),
+                    contains( hasToString( "1.0" ), hasToString( "2.0" ) ) );
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws Exception
+    {
+        SessionVersionsCache cache = new SessionVersionsCache();
+        try
+        {
+            cache.getAvailableVersions( artifact, Collections.emptyList(), () ->
+            {
+                throw new ArtifactMetadataRetrievalException( "unavailable", null, artifact );
+            } );
+            fail( "Expected ArtifactMetadataRetrievalException" );
+        }
+        catch ( ArtifactMetadataRetrievalException e )
+        {
+            assertThat( e.getMessage(), is( "unavailable" ) );
+        }
+        assertThat( cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "1.0" ) ),
+                    contains( hasToString( "1.0" ) ) );
+    }
+
+    @Test
+    public void testErrorsAreNotCachedAndReleaseWaitingLookups() throws Exception
+    {
+        SessionVersionsCache cache = new SessionVersionsCache();
+        CountDownLatch retrieving = new CountDownLatch( 1 );
+        CountDownLatch fail = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try
+        {
+            Future<List<ArtifactVersion>> failing = executor.submit( () ->
+                cache.getAvailableVersions( artifact, Collections.emptyList(), () ->
+                {
+                    retrieving.countDown();
+                    while ( fail.getCount() > 0 )
+                    {
+                        LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( 1 ) );
+                    }
+                    throw new AssertionError( "broken" );
+                } ) );
+            retrieving.await();
+            Future<List<ArtifactVersion>> waiting = executor.submit( () ->
+                cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "2.0" ) ) );
+            while ( cache.getCoalesced() == 0 )
+            {
+                LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( 1 ) );
+            }
+            fail.countDown();
+
+            try
+            {
+                failing.get( 10, TimeUnit.SECONDS );
+                fail( "Expected AssertionError" );
+            }
+            catch ( ExecutionException e )
+            {
+                assertThat( e.getCause(), instanceOf( AssertionError.class ) );
+            }
+            try
+            {
+                waiting.get( 10, TimeUnit.SECONDS );
+                fail( "Expected ArtifactMetadataRetrievalException" );
+            }
+            catch ( ExecutionException e )
+            {
+                assertThat( e.getCause(), instanceOf( ArtifactMetadataRetrievalException.class ) );
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertThat( cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "1.0" ) ),
+                    contains( hasToString( "1.0" ) ) );
+    }
+
+    @Test
+    public void testLookupsWaitingForACancelledRetrievalRetry() throws Exception
+    {
+        SessionVersionsCache cache = new SessionVersionsCache();
+        CountDownLatch retrieving = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try
+        {
+            Future<List<ArtifactVersion>> cancelled = executor.submit( () ->
+                cache.getAvailableVersions( artifact, Collections.emptyList(), () ->
+                {
+                    retrieving.countDown();
+                    try
+                    {
+                        new CountDownLatch( 1 ).await();
+                        return versions( "1.0" );
+                    }
+                    catch ( InterruptedException e )
+                    {
+                        Thread.currentThread().interrupt();
+                        throw new ArtifactMetadataRetrievalException( "interrupted", e, artifact );
+                    }
+                } ) );
+            retrieving.await();
+            Future<List<ArtifactVersion>> waiting = executor.submit( () ->
+                cache.getAvailableVersions( artifact, Collections.emptyList(), () -> versions( "2.0" ) ) );
+            while ( cache.getCoalesced() == 0 )
+            {
+                LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( 1 ) );
+            }
+            cancelled.cancel( true );
+
+            assertThat( waiting.get( 10, TimeUnit.SECONDS ), contains( hasToString( "2.0" ) ) );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertThat( cache.getRetrievals(), is( 2L ) );
+    }
+
+    private static List<ArtifactVersion> versions( String... versions )
+    {
+        List<ArtifactVersion> result = new ArrayList<>();
+        for ( String version : versions )
+        {
+            result.add( new DefaultArtifactVersion( version ) );
+        }
+        return result;
+    }
+}
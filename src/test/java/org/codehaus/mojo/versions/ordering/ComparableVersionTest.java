@@ -0,0 +1,93 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class ComparableVersionTest
+{
+    private static final String[] VERSIONS_QUALIFIER = {"1-SNAPSHOT", "1-alpha2snapshot", "1-alpha2",
+        "1-alpha-123", "1-beta-2", "1-beta123", "1-m2", "1-m11", "1-rc", "1-cr2", "1-rc123", "1", "1-sp", "1-sp2",
+        "1-sp123", "1-abc", "1-def", "1-pom-1", "1-1-snapshot", "1-1", "1-2", "1-123"};
+
+    private static final String[] VERSIONS_NUMBER = {"2.0", "2-1", "2.0.a", "2.0.0.a", "2.0.2", "2.0.123", "2.1.0",
+        "2.1-a", "2.1b", "2.1-c", "2.1-1", "2.1.0.1", "2.2", "2.123", "11.a2", "11.a11", "11.b2", "11.b11", "11.m2",
+        "11.m11", "11", "11.a", "11b", "11c", "11m"};
+
+    @Test
+    public void testVersionsQualifier()
+    {
+        assertIncreasing( VERSIONS_QUALIFIER );
+    }
+
+    @Test
+    public void testVersionsNumber()
+    {
+        assertIncreasing( VERSIONS_NUMBER );
+    }
+
+    @Test
+    public void testVersionsEqual()
+    {
+        assertEqual( "1", "1.0.0" );
+        assertEqual( "1-0", "1.0" );
+        assertEqual( "1ga", "1-GA" );
+        assertEqual( "1.0-final", "1" );
+        assertEqual( "1a1", "1-alpha-1" );
+        assertEqual( "1.0.007", "1.0.7" );
+        assertEqual( "1.0.000000000000000000000000007", "1.0.7" );
+    }
+
+    @Test
+    public void testNumbersBeyondLong()
+    {
+        assertIncreasing( new String[] {"9223372036854775806", "9223372036854775807", "9223372036854775808",
+            "100000000000000000000", "100000000000000000000.1"} );
+        assertEqual( "9223372036854775808", "00009223372036854775808" );
+    }
+
+    private static void assertIncreasing( String[] versions )
+    {
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            ComparableVersion low = new ComparableVersion( versions[i] );
+            for ( int j = i + 1; j < versions.length; j++ )
+            {
+                ComparableVersion high = new ComparableVersion( versions[j] );
+                assertThat( low + " < " + high, low.compareTo( high ), lessThan( 0 ) );
+                assertThat( high + " > " + low, high.compareTo( low ), greaterThan( 0 ) );
+            }
+        }
+    }
+
+    private static void assertEqual( String v1, String v2 )
+    {
+        ComparableVersion c1 = new ComparableVersion( v1 );
+        ComparableVersion c2 = new ComparableVersion( v2 );
+        assertThat( v1 + " == " + v2, c1.compareTo( c2 ), is( 0 ) );
+        assertThat( v1 + " == " + v2, c1.equals( c2 ), is( true ) );
+        assertThat( v1 + " == " + v2, c1.hashCode(), is( c2.hashCode() ) );
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.junit.Test;
 
 import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public class MajorMinorIncrementalFilterTest
@@ -95,6 +96,25 @@ public class MajorMinorIncrementalFilterTest
                                      version( "2.0.0-SNAPSHOT" ) ) );
     }
 
+    @Test
+    public void checkFilterSkipsRepeatedVersions()
+    {
+        ArtifactVersion selectedVersion = version( "1.1.1" );
+        MajorMinorIncrementalFilter filter = new MajorMinorIncrementalFilter( false, true, false );
+
+        ArtifactVersion[] newerVersions = new ArtifactVersion[] {version( "1.1.1-1" ),
+            version( "1.1.2" ),
+            version( "1.2" ),
+            version( "1.2.0" ),
+            version( "1.3.0" ),
+            version( "2.0.0" )};
+
+        ArtifactVersion[] filteredVersions = filter.filter( selectedVersion, newerVersions );
+        assertThat( filteredVersions, arrayContaining( sameInstance( newerVersions[0] ),
+                                                       sameInstance( newerVersions[2] ),
+                                                       sameInstance( newerVersions[4] ) ) );
+    }
+
     private ArtifactVersion version( String versionString )
     {
         return new DefaultArtifactVersion( versionString );
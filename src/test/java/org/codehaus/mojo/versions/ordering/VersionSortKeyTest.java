@@ -0,0 +1,127 @@
+package org.codehaus.mojo.versions.ordering;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class VersionSortKeyTest
+{
+    private static final String[] NUMBERS = {"0", "1", "2", "9", "10", "00", "007", "2147483647", "2147483648",
+        "268435455", "268435456", "99999999999999999999"};
+
+    private static final String[] QUALIFIERS = {"SNAPSHOT", "alpha", "Beta", "milestone", "mr", "preview", "RC",
+        "cr", "", "ga", "final", "sp", "a", "foo", "rc1", "1", "rc.1", "alpha-1"};
+
+    private static final String[] SEPARATORS = {".", ".", ".", "-", "", "_"};
+
+    private static final int MAX_COMPONENTS = 6;
+
+    private static final int VERSIONS = 2000;
+
+    @Test
+    public void testSortKeysAreCached()
+    {
+        assertThat( VersionSortKey.of( "1.2.3-beta-1" ), sameInstance( VersionSortKey.of( "1.2.3-beta-1" ) ) );
+    }
+
+    @Test
+    public void testCacheIsBounded()
+    {
+        for ( int i = 0; i <= VersionSortKey.MAX_ENTRIES; i++ )
+        {
+            VersionSortKey.of( "0." + i );
+        }
+        assertThat( VersionSortKey.of( "1.0" ).compareTo( VersionSortKey.of( "1.0.0" ) ), is( 0 ) );
+    }
+
+    @Test
+    public void testCommonVersionsArePacked()
+    {
+        assertThat( VersionSortKey.of( "1.2.3" ).isPacked(), is( true ) );
+        assertThat( VersionSortKey.of( "1.2.3.4-SNAPSHOT" ).isPacked(), is( true ) );
+        assertThat( VersionSortKey.of( "2.0-rc" ).isPacked(), is( true ) );
+        assertThat( VersionSortKey.of( "1.2.3.4.5" ).isPacked(), is( false ) );
+        assertThat( VersionSortKey.of( "1.0-rc-1" ).isPacked(), is( false ) );
+        assertThat( VersionSortKey.of( "1.0-1" ).isPacked(), is( false ) );
+        assertThat( VersionSortKey.of( "1.0.RELEASE" ).isPacked(), is( false ) );
+    }
+
+    @Test
+    public void testOrderMatchesComparableVersion()
+    {
+        Random random = new Random( 0 );
+        List<String> versions = new ArrayList<>();
+        for ( int i = 0; i < VERSIONS; i++ )
+        {
+            StringBuilder version = new StringBuilder( NUMBERS[random.nextInt( NUMBERS.length )] );
+            for ( int j = random.nextInt( MAX_COMPONENTS ); j > 0; j-- )
+            {
+                version.append( SEPARATORS[random.nextInt( SEPARATORS.length )] )
+                    .append( NUMBERS[random.nextInt( NUMBERS.length )] );
+            }
+            if ( random.nextBoolean() )
+            {
+                version.append( '-' ).append( QUALIFIERS[random.nextInt( QUALIFIERS.length )] );
+            }
+            versions.add( version.toString() );
+        }
+        for ( String v1 : versions.subList( 0, VERSIONS / 10 ) )
+        {
+            for ( String v2 : versions )
+            {
+                assertThat( v1 + " <=> " + v2, Integer.signum( VersionSortKey.of( v1 ).compareTo(
+                    VersionSortKey.of( v2 ) ) ), is( Integer.signum( new ComparableVersion( v1 ).compareTo(
+                    new ComparableVersion( v2 ) ) ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void testSortingMatchesUncachedVersions()
+    {
+        final String[] parts = {"1", "2", "10", "0", "alpha", "beta-1", "rc1", "SNAPSHOT", "sp", "ga"};
+        final int count = 1000;
+        Random random = new Random( 0 );
+        List<ArtifactVersion> versions = new ArrayList<>();
+        for ( int i = 0; i < count; i++ )
+        {
+            versions.add( new DefaultArtifactVersion( parts[random.nextInt( parts.length )] + '.'
+                                                          + parts[random.nextInt( parts.length )] + '-'
+                                                          + parts[random.nextInt( parts.length )] ) );
+        }
+        List<ArtifactVersion> cached = new ArrayList<>( versions );
+        Collections.sort( cached, new MavenVersionComparator() );
+        List<ArtifactVersion> uncached = new ArrayList<>( versions );
+        Collections.sort( uncached, ( o1, o2 ) -> new ComparableVersion( o1.toString() )
+            .compareTo( new ComparableVersion( o2.toString() ) ) );
+        assertThat( cached, is( uncached ) );
+    }
+}
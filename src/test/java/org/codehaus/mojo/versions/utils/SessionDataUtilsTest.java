@@ -0,0 +1,85 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SessionDataUtilsTest
+{
+    private static final int THREADS = 8;
+
+    private static final long CREATION_MILLIS = 10;
+
+    @Test
+    public void testConcurrentCallersShareASingleObject() throws Exception
+    {
+        MavenSession session = mock( MavenSession.class );
+        when( session.getRepositorySession() ).thenReturn( new DefaultRepositorySystemSession() );
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+        try
+        {
+            List<Future<Object>> futures = new ArrayList<>();
+            for ( int i = 0; i < THREADS; i++ )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    start.await();
+                    return SessionDataUtils.getOrCreate( session, "key", Object.class, () ->
+                    {
+                        created.incrementAndGet();
+                        LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( CREATION_MILLIS ) );
+                        return new Object();
+                    } );
+                } ) );
+            }
+            start.countDown();
+            Object shared = futures.get( 0 ).get( 1, TimeUnit.MINUTES );
+            for ( Future<Object> future : futures )
+            {
+                assertThat( future.get( 1, TimeUnit.MINUTES ), sameInstance( shared ) );
+            }
+            assertThat( created.get(), is( 1 ) );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
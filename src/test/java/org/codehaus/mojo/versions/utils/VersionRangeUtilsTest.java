@@ -0,0 +1,67 @@
+package org.codehaus.mojo.versions.utils;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class VersionRangeUtilsTest
+{
+    @Test
+    public void testRangesAreParsedOnce() throws Exception
+    {
+        VersionRange range = VersionRangeUtils.createFromVersionSpec( "[1.0,2.0)" );
+        assertThat( range.containsVersion( new DefaultArtifactVersion( "1.5" ) ), is( true ) );
+        assertThat( range.containsVersion( new DefaultArtifactVersion( "2.0" ) ), is( false ) );
+        assertThat( VersionRangeUtils.createFromVersionSpec( "[1.0,2.0)" ), sameInstance( range ) );
+        assertThat( VersionRangeUtils.createFromVersionSpec( "1.0" ).getRecommendedVersion().toString(),
+                    is( "1.0" ) );
+        assertThat( VersionRangeUtils.createFromVersionSpec( null ), nullValue() );
+    }
+
+    @Test
+    public void testInvalidRangesFailEveryTime()
+    {
+        InvalidVersionSpecificationException previous = null;
+        for ( int i = 0; i < 2; i++ )
+        {
+            try
+            {
+                VersionRangeUtils.createFromVersionSpec( "[2.0,1.0]" );
+                fail( "the range should be invalid" );
+            }
+            catch ( InvalidVersionSpecificationException e )
+            {
+                assertThat( e.getMessage().contains( "[2.0,1.0]" ), is( true ) );
+                assertThat( e, not( sameInstance( previous ) ) );
+                previous = e;
+            }
+        }
+    }
+}